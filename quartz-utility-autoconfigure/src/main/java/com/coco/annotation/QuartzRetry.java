@@ -0,0 +1,55 @@
+package com.coco.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明 BaseAbstractQuartzJob 子类失败后的重试策略。
+ * 任务抛出可重试的异常时，按指数退避安排一个只触发一次的重试触发器（组名 QUARTZ_RETRY），
+ * 退避期间不占用工作线程。每次尝试都写入日志，日志使用原触发器的标识。
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QuartzRetry {
+
+    /**
+     * 最大尝试次数，包含第一次执行。
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * 第一次重试的延迟（毫秒）。
+     */
+    long initialDelay() default 1000;
+
+    /**
+     * 每次重试延迟的倍数。
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * 重试延迟的上限（毫秒）。
+     */
+    long maxDelay() default 60000;
+
+    /**
+     * 随机抖动比例，实际延迟在 delay * (1 - jitter) 到 delay * (1 + jitter) 之间。
+     */
+    double jitter() default 0.2;
+
+    /**
+     * 需要重试的异常类型，包含子类。
+     */
+    Class<? extends Throwable>[] retryFor() default {Exception.class};
+
+    /**
+     * 不重试的异常类型，包含子类，优先级高于 retryFor。
+     */
+    Class<? extends Throwable>[] noRetryFor() default {};
+}
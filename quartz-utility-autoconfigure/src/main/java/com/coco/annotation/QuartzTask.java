@@ -0,0 +1,109 @@
+package com.coco.annotation;
+
+import com.coco.enums.ConcurrencyScopeEnum;
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.enums.StartSpreadEnum;
+import com.coco.enums.TimeEnum;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明一个按简单间隔调度的任务，属性与 QuartzComponent 相同。
+ * 编译时由 quartz-utility-processor 的注解处理器写入 META-INF/quartz-utility/tasks.index，
+ * 启动时 QuartzTaskRegistrar 读取索引并通过 CoQuartzScheduler.scheduleAll 一次性注册，不扫描类路径，
+ * 运行时也不读取注解本身。事务模式仍然通过任务类上的 {@link QuartzTransaction} 设置。
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface QuartzTask {
+
+    /**
+     * 任务名称，默认为类的简单名称。
+     */
+    String name() default "";
+
+    /**
+     * 任务组名，默认为 QuartzSign.GROUP。
+     */
+    String group() default "";
+
+    /**
+     * 触发器名称，默认与任务名称相同。
+     */
+    String triggerName() default "";
+
+    /**
+     * 触发器组名，默认与任务组名相同。
+     */
+    String triggerGroup() default "";
+
+    /**
+     * 任务描述。
+     */
+    String description() default "Default description";
+
+    /**
+     * 时间间隔。
+     */
+    int timeInterval() default 5;
+
+    /**
+     * 间隔时间单位。
+     */
+    TimeEnum timeEnum() default TimeEnum.MINUTES;
+
+    /**
+     * 任务恢复设置。
+     */
+    boolean shouldRecover() default false;
+
+    /**
+     * 任务持久化设置。
+     */
+    boolean durability() default true;
+
+    /**
+     * 新建触发器第一次触发时间的分散策略。
+     */
+    StartSpreadEnum startSpread() default StartSpreadEnum.NONE;
+
+    /**
+     * HASH、RANDOM 策略的最大偏移（毫秒），0 表示使用执行间隔。
+     */
+    long startSpreadWindow() default 0;
+
+    /**
+     * RATE_LIMIT 策略每秒最多启动的任务数。
+     */
+    int startRateLimit() default 10;
+
+    /**
+     * 分片任务每次触发拆分的分片数。
+     */
+    int shardTotal() default 1;
+
+    /**
+     * 当前节点上的最大并发数。
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * 并发数的限制范围。
+     */
+    ConcurrencyScopeEnum concurrencyScope() default ConcurrencyScopeEnum.JOB;
+
+    /**
+     * 达到并发上限时的处理策略。
+     */
+    OverlapPolicyEnum overlapPolicy() default OverlapPolicyEnum.RUN;
+
+    /**
+     * 错过触发时的处理策略。
+     */
+    MisfirePolicyEnum misfirePolicy() default MisfirePolicyEnum.SKIP;
+}
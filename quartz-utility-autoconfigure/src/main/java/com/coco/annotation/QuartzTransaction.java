@@ -0,0 +1,22 @@
+package com.coco.annotation;
+
+import com.coco.enums.TransactionModeEnum;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明 BaseAbstractQuartzJob 子类的事务模式。
+ * QuartzComponent 中设置的事务模式优先级高于该注解，两者都未设置时使用 WRAP_JOB。
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QuartzTransaction {
+
+    TransactionModeEnum value() default TransactionModeEnum.WRAP_JOB;
+}
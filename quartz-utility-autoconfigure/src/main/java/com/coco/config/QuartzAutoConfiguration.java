@@ -1,16 +1,47 @@
 package com.coco.config;
 
+import com.coco.core.AsyncJobCompletionExecutor;
 import com.coco.core.CoQuartzScheduler;
+import com.coco.core.JobConcurrencyLimiter;
+import com.coco.core.QuartzTaskRegistrar;
+import com.coco.core.ShardRunSweeper;
+import com.coco.fastpath.FastPathJobEngine;
+import com.coco.log.AsyncTaskLogWriter;
+import com.coco.log.CachingTaskLogStore;
+import com.coco.log.JdbcTaskCursorStore;
+import com.coco.log.JdbcTaskFailureStore;
+import com.coco.log.JdbcTaskHistoryStore;
+import com.coco.log.JdbcTaskLogStoreFactory;
+import com.coco.log.JdbcTaskShardStore;
+import com.coco.log.TaskFailureRecorder;
+import com.coco.log.TaskHistoryPurger;
+import com.coco.log.TaskLogStore;
+import com.coco.log.TaskStatusService;
+import com.coco.metrics.TaskMetricsRecorder;
+import com.coco.monitor.SchedulerLagMonitor;
 import javax.sql.DataSource;
 import org.quartz.Scheduler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration
+@EnableConfigurationProperties(QuartzUtilityProperties.class)
+@ImportRuntimeHints(QuartzTaskRuntimeHints.class)
 public class QuartzAutoConfiguration {
 
     @Lazy
@@ -21,7 +52,187 @@ public class QuartzAutoConfiguration {
 
     @Bean
     @Primary
-    CoQuartzScheduler coQuartzScheduler(@Autowired Scheduler scheduler) {
-        return new CoQuartzScheduler(scheduler);
+    CoQuartzScheduler coQuartzScheduler(@Autowired Scheduler scheduler,
+            @Autowired ObjectProvider<FastPathJobEngine> fastPathJobEngine,
+            @Autowired ObjectProvider<PlatformTransactionManager> transactionManager) {
+        CoQuartzScheduler coQuartzScheduler = new CoQuartzScheduler(scheduler);
+        coQuartzScheduler.setFastPathJobEngine(fastPathJobEngine.getIfAvailable());
+        coQuartzScheduler.setTransactionManager(transactionManager.getIfUnique());
+        return coQuartzScheduler;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.task-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    QuartzTaskRegistrar quartzTaskRegistrar(@Autowired CoQuartzScheduler coQuartzScheduler,
+            @Autowired ResourceLoader resourceLoader,
+            @Autowired QuartzUtilityProperties properties) {
+        return new QuartzTaskRegistrar(coQuartzScheduler, resourceLoader.getClassLoader(),
+                properties.getTaskIndex().isPrune());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.fast-path", name = "enabled", havingValue = "true")
+    FastPathJobEngine fastPathJobEngine(@Autowired Scheduler scheduler,
+            @Autowired AutowireCapableBeanFactory beanFactory,
+            @Autowired ObjectProvider<TaskMetricsRecorder> taskMetricsRecorder,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.FastPath fastPath = properties.getFastPath();
+        FastPathJobEngine fastPathJobEngine = new FastPathJobEngine(scheduler, beanFactory,
+                fastPath.getMaxInterval(), fastPath.getTickDuration(), fastPath.getWheelSize(),
+                fastPath.getWorkerThreads(), fastPath.getQueueCapacity(),
+                fastPath.getShutdownTimeout());
+        fastPathJobEngine.setTaskMetricsRecorder(taskMetricsRecorder.getIfAvailable());
+        return fastPathJobEngine;
+    }
+
+    @Lazy
+    @Bean
+    @ConditionalOnMissingBean(TaskLogStore.class)
+    TaskLogStore taskLogStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate) {
+        return JdbcTaskLogStoreFactory.create(quartzJdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(JobConcurrencyLimiter.class)
+    JobConcurrencyLimiter jobConcurrencyLimiter(@Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.Concurrency concurrency = properties.getConcurrency();
+        return new JobConcurrencyLimiter(concurrency.getQueueDelay(),
+                concurrency.getQueueMaxDelay(), concurrency.getQueueTimeout());
+    }
+
+    @Lazy
+    @Bean
+    JdbcTaskShardStore taskShardStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate,
+            @Autowired PlatformTransactionManager transactionManager) {
+        return new JdbcTaskShardStore(quartzJdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.shard", name = "enabled", havingValue = "true")
+    ShardRunSweeper shardRunSweeper(@Autowired JdbcTaskShardStore taskShardStore,
+            @Autowired TaskLogStore taskLogStore,
+            @Autowired ObjectProvider<JdbcTaskHistoryStore> taskHistoryStore,
+            @Autowired Scheduler scheduler,
+            @Autowired PlatformTransactionManager transactionManager,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.Shard shard = properties.getShard();
+        return new ShardRunSweeper(taskShardStore, taskLogStore,
+                taskHistoryStore.getIfAvailable(), scheduler, transactionManager,
+                shard.getRunTimeout(), shard.getSweepInterval());
+    }
+
+    @Lazy
+    @Bean
+    JdbcTaskCursorStore taskCursorStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate) {
+        return new JdbcTaskCursorStore(quartzJdbcTemplate);
+    }
+
+    @Bean
+    AsyncJobCompletionExecutor asyncJobCompletionExecutor(
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.AsyncJob asyncJob = properties.getAsyncJob();
+        return new AsyncJobCompletionExecutor(asyncJob.getCompletionThreads(),
+                asyncJob.getCompletionQueueCapacity(), asyncJob.getShutdownTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.async-log", name = "enabled", havingValue = "true")
+    AsyncTaskLogWriter asyncTaskLogWriter(
+            @Autowired TaskLogStore taskLogStore,
+            @Autowired ObjectProvider<JdbcTaskHistoryStore> taskHistoryStore,
+            @Autowired ObjectProvider<TaskMetricsRecorder> taskMetricsRecorder,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.AsyncLog asyncLog = properties.getAsyncLog();
+        AsyncTaskLogWriter asyncTaskLogWriter = new AsyncTaskLogWriter(taskLogStore,
+                taskHistoryStore.getIfAvailable(), asyncLog.getQueueCapacity(),
+                asyncLog.getBatchSize(), asyncLog.getFlushInterval(),
+                asyncLog.getShutdownTimeout(), asyncLog.getOverflowPolicy());
+        asyncTaskLogWriter.setTaskMetricsRecorder(taskMetricsRecorder.getIfAvailable());
+        return asyncTaskLogWriter;
+    }
+
+    @Lazy
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.history", name = "enabled", havingValue = "true")
+    JdbcTaskHistoryStore taskHistoryStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate) {
+        return new JdbcTaskHistoryStore(quartzJdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.history", name = "enabled", havingValue = "true")
+    TaskHistoryPurger taskHistoryPurger(@Autowired JdbcTaskHistoryStore taskHistoryStore,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.History history = properties.getHistory();
+        return new TaskHistoryPurger(taskHistoryStore, history.getRetention(),
+                history.getPurgeInterval(), history.getPurgeChunkSize(),
+                history.getPurgeChunkPause());
+    }
+
+    @Lazy
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.failure-fingerprint", name = "enabled", havingValue = "true")
+    JdbcTaskFailureStore taskFailureStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate) {
+        return new JdbcTaskFailureStore(quartzJdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.failure-fingerprint", name = "enabled", havingValue = "true")
+    TaskFailureRecorder taskFailureRecorder(@Autowired JdbcTaskFailureStore taskFailureStore,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.FailureFingerprint failureFingerprint =
+                properties.getFailureFingerprint();
+        return new TaskFailureRecorder(taskFailureStore, failureFingerprint.getStackFrames(),
+                failureFingerprint.getSampleMaxLength(), failureFingerprint.getFlushInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.status-cache", name = "enabled", havingValue = "true")
+    TaskStatusService taskStatusService(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate,
+            @Autowired Scheduler scheduler,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.StatusCache statusCache = properties.getStatusCache();
+        TaskStatusService taskStatusService = new TaskStatusService(quartzJdbcTemplate,
+                statusCache.getMaxSize(), statusCache.getRefreshInterval().toMillis(),
+                statusCache.getFullRefreshInterval().toMillis());
+        taskStatusService.setScheduler(scheduler);
+        return taskStatusService;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.lag-monitor", name = "enabled", havingValue = "true")
+    SchedulerLagMonitor schedulerLagMonitor(@Autowired Scheduler scheduler,
+            @Autowired ApplicationEventPublisher eventPublisher,
+            @Autowired QuartzUtilityProperties properties) {
+        QuartzUtilityProperties.LagMonitor lagMonitor = properties.getLagMonitor();
+        return new SchedulerLagMonitor(scheduler, eventPublisher, lagMonitor.getSampleInterval(),
+                lagMonitor.getLagThreshold(), lagMonitor.getUtilizationThreshold(),
+                lagMonitor.isResizeEnabled(), lagMonitor.getMinThreads(),
+                lagMonitor.getMaxThreads(), lagMonitor.getResizeStep(),
+                lagMonitor.getLowUtilization());
+    }
+
+    /**
+     * 把容器中的 TaskLogStore（包括自定义实现）包装为 CachingTaskLogStore，写入日志后同步更新执行状态缓存。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "quartz.utility.status-cache", name = "enabled", havingValue = "true")
+    static BeanPostProcessor cachingTaskLogStorePostProcessor(
+            @Autowired ObjectProvider<TaskStatusService> taskStatusService) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TaskLogStore taskLogStore
+                        && !(bean instanceof CachingTaskLogStore)) {
+                    return new CachingTaskLogStore(taskLogStore, taskStatusService.getObject());
+                }
+                return bean;
+            }
+        };
     }
 }
@@ -0,0 +1,28 @@
+package com.coco.config;
+
+import com.coco.metrics.MicrometerTaskMetrics;
+import com.coco.metrics.TaskMetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.quartz.Scheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(after = QuartzAutoConfiguration.class, afterName = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+public class QuartzMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(TaskMetricsRecorder.class)
+    MicrometerTaskMetrics micrometerTaskMetrics(@Autowired MeterRegistry meterRegistry,
+            @Autowired Scheduler scheduler, @Autowired QuartzUtilityProperties properties) {
+        return new MicrometerTaskMetrics(meterRegistry, scheduler,
+                properties.getMetrics().isPercentileHistogram());
+    }
+}
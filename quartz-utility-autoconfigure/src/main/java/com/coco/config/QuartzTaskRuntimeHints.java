@@ -0,0 +1,27 @@
+package com.coco.config;
+
+import com.coco.core.QuartzTaskIndex;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * AOT 处理时把 @QuartzTask 任务索引和其中的任务类登记到 native image，
+ * 任务类由 Quartz 的 JobFactory 通过反射创建实例并注入依赖。
+ */
+class QuartzTaskRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern(QuartzTaskIndex.INDEX_LOCATION);
+        if (classLoader == null) {
+            return;
+        }
+        for (String className : QuartzTaskIndex.loadClassNames(classLoader)) {
+            hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+}
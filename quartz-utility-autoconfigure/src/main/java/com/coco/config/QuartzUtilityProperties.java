@@ -0,0 +1,631 @@
+package com.coco.config;
+
+import com.coco.enums.LogOverflowPolicyEnum;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "quartz.utility")
+public class QuartzUtilityProperties {
+
+    // 异步日志写入配置
+    private final AsyncLog asyncLog = new AsyncLog();
+
+    // 执行历史配置
+    private final History history = new History();
+
+    // 指标配置
+    private final Metrics metrics = new Metrics();
+
+    // 内存执行引擎配置
+    private final FastPath fastPath = new FastPath();
+
+    // 虚拟线程池配置
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    // 失败指纹配置
+    private final FailureFingerprint failureFingerprint = new FailureFingerprint();
+
+    // 执行状态缓存配置
+    private final StatusCache statusCache = new StatusCache();
+
+    // 调度滞后监控配置
+    private final LagMonitor lagMonitor = new LagMonitor();
+
+    // 编译时任务索引配置
+    private final TaskIndex taskIndex = new TaskIndex();
+
+    // 并发控制配置
+    private final Concurrency concurrency = new Concurrency();
+
+    // 分片执行超时清理配置
+    private final Shard shard = new Shard();
+
+    // 异步任务配置
+    private final AsyncJob asyncJob = new AsyncJob();
+
+    public AsyncLog getAsyncLog() {
+        return asyncLog;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public FastPath getFastPath() {
+        return fastPath;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public FailureFingerprint getFailureFingerprint() {
+        return failureFingerprint;
+    }
+
+    public StatusCache getStatusCache() {
+        return statusCache;
+    }
+
+    public LagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    public TaskIndex getTaskIndex() {
+        return taskIndex;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public Shard getShard() {
+        return shard;
+    }
+
+    public AsyncJob getAsyncJob() {
+        return asyncJob;
+    }
+
+    public static class AsyncLog {
+
+        // 是否开启异步批量写日志
+        private boolean enabled = false;
+        // 队列容量
+        private int queueCapacity = 10000;
+        // 单批次最大条数
+        private int batchSize = 500;
+        // 批次时间窗口
+        private Duration flushInterval = Duration.ofMillis(200);
+        // 容器关闭时等待刷写完成的最长时间
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+        // 队列已满时的处理策略
+        private LogOverflowPolicyEnum overflowPolicy = LogOverflowPolicyEnum.BLOCK;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+
+        public LogOverflowPolicyEnum getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(LogOverflowPolicyEnum overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
+    public static class History {
+
+        // 是否开启执行历史
+        private boolean enabled = false;
+        // 历史记录保留时间
+        private Duration retention = Duration.ofDays(30);
+        // 清理间隔
+        private Duration purgeInterval = Duration.ofHours(1);
+        // 单批删除的最大行数
+        private int purgeChunkSize = 1000;
+        // 两批删除之间的暂停时间
+        private Duration purgeChunkPause = Duration.ofMillis(100);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public Duration getPurgeInterval() {
+            return purgeInterval;
+        }
+
+        public void setPurgeInterval(Duration purgeInterval) {
+            this.purgeInterval = purgeInterval;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+
+        public Duration getPurgeChunkPause() {
+            return purgeChunkPause;
+        }
+
+        public void setPurgeChunkPause(Duration purgeChunkPause) {
+            this.purgeChunkPause = purgeChunkPause;
+        }
+    }
+
+    public static class Metrics {
+
+        // 任务执行耗时和触发延迟是否发布百分位直方图，任务数量很多时会产生大量时间序列
+        private boolean percentileHistogram = false;
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    public static class FastPath {
+
+        // 是否开启内存执行引擎
+        private boolean enabled = false;
+        // 执行间隔不超过该值的非持久化任务才进入内存执行引擎
+        private Duration maxInterval = Duration.ofSeconds(1);
+        // 时间轮刻度
+        private Duration tickDuration = Duration.ofMillis(10);
+        // 时间轮槽数
+        private int wheelSize = 512;
+        // 工作线程数
+        private int workerThreads = Runtime.getRuntime().availableProcessors();
+        // 工作线程池队列容量，队列已满时跳过本次触发
+        private int queueCapacity = 1000;
+        // 容器关闭时等待正在执行的任务结束的最长时间
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(Duration maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+
+        public Duration getTickDuration() {
+            return tickDuration;
+        }
+
+        public void setTickDuration(Duration tickDuration) {
+            this.tickDuration = tickDuration;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        // 是否使用虚拟线程池，需要 JDK 21 及以上
+        private boolean enabled = false;
+        // 最大并发执行的任务数
+        private int maxConcurrency = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    public static class FailureFingerprint {
+
+        // 是否开启失败指纹，开启后任务日志的 error_message 保存失败指纹
+        private boolean enabled = false;
+        // 参与指纹计算的根异常栈顶帧数
+        private int stackFrames = 5;
+        // 栈信息样本的最大长度
+        private int sampleMaxLength = 4000;
+        // 合并计数的时间窗口
+        private Duration flushInterval = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getStackFrames() {
+            return stackFrames;
+        }
+
+        public void setStackFrames(int stackFrames) {
+            this.stackFrames = stackFrames;
+        }
+
+        public int getSampleMaxLength() {
+            return sampleMaxLength;
+        }
+
+        public void setSampleMaxLength(int sampleMaxLength) {
+            this.sampleMaxLength = sampleMaxLength;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class StatusCache {
+
+        // 是否开启执行状态缓存
+        private boolean enabled = false;
+        // 缓存的最大行数
+        private int maxSize = 100000;
+        // 增量刷新间隔，读取其他节点新写入的日志
+        private Duration refreshInterval = Duration.ofSeconds(10);
+        // 整表刷新间隔，补上提交晚于回看窗口的日志并去掉已删除的行
+        private Duration fullRefreshInterval = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getFullRefreshInterval() {
+            return fullRefreshInterval;
+        }
+
+        public void setFullRefreshInterval(Duration fullRefreshInterval) {
+            this.fullRefreshInterval = fullRefreshInterval;
+        }
+    }
+
+    public static class LagMonitor {
+
+        // 是否开启调度滞后监控
+        private boolean enabled = false;
+        // 采样间隔
+        private Duration sampleInterval = Duration.ofSeconds(10);
+        // 最大触发延迟超过该值时发布滞后事件
+        private Duration lagThreshold = Duration.ofSeconds(1);
+        // 线程池利用率达到该值且调度滞后时扩大线程池
+        private double utilizationThreshold = 0.9;
+        // 是否自动调整线程池大小，只支持 VirtualThreadPool
+        private boolean resizeEnabled = false;
+        // 自动调整的最小并发数
+        private int minThreads = 10;
+        // 自动调整的最大并发数
+        private int maxThreads = 1000;
+        // 每次调整的并发数
+        private int resizeStep = 10;
+        // 线程池利用率低于该值时缩小线程池
+        private double lowUtilization = 0.3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSampleInterval() {
+            return sampleInterval;
+        }
+
+        public void setSampleInterval(Duration sampleInterval) {
+            this.sampleInterval = sampleInterval;
+        }
+
+        public Duration getLagThreshold() {
+            return lagThreshold;
+        }
+
+        public void setLagThreshold(Duration lagThreshold) {
+            this.lagThreshold = lagThreshold;
+        }
+
+        public double getUtilizationThreshold() {
+            return utilizationThreshold;
+        }
+
+        public void setUtilizationThreshold(double utilizationThreshold) {
+            this.utilizationThreshold = utilizationThreshold;
+        }
+
+        public boolean isResizeEnabled() {
+            return resizeEnabled;
+        }
+
+        public void setResizeEnabled(boolean resizeEnabled) {
+            this.resizeEnabled = resizeEnabled;
+        }
+
+        public int getMinThreads() {
+            return minThreads;
+        }
+
+        public void setMinThreads(int minThreads) {
+            this.minThreads = minThreads;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        public int getResizeStep() {
+            return resizeStep;
+        }
+
+        public void setResizeStep(int resizeStep) {
+            this.resizeStep = resizeStep;
+        }
+
+        public double getLowUtilization() {
+            return lowUtilization;
+        }
+
+        public void setLowUtilization(double lowUtilization) {
+            this.lowUtilization = lowUtilization;
+        }
+    }
+
+    public static class TaskIndex {
+
+        // 是否在启动时注册 @QuartzTask 索引中的任务
+        private boolean enabled = true;
+        // 是否删除索引中任务所在的组里、但不在索引中的任务和触发器
+        private boolean prune = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isPrune() {
+            return prune;
+        }
+
+        public void setPrune(boolean prune) {
+            this.prune = prune;
+        }
+    }
+
+    public static class Concurrency {
+
+        // QUEUE 策略第一次延迟重试的间隔，之后每次翻倍
+        private Duration queueDelay = Duration.ofMillis(200);
+        // 延迟重试间隔的上限
+        private Duration queueMaxDelay = Duration.ofSeconds(5);
+        // 从第一次排队起超过该时间仍未获取到许可时跳过本次触发
+        private Duration queueTimeout = Duration.ofMinutes(10);
+
+        public Duration getQueueDelay() {
+            return queueDelay;
+        }
+
+        public void setQueueDelay(Duration queueDelay) {
+            this.queueDelay = queueDelay;
+        }
+
+        public Duration getQueueMaxDelay() {
+            return queueMaxDelay;
+        }
+
+        public void setQueueMaxDelay(Duration queueMaxDelay) {
+            this.queueMaxDelay = queueMaxDelay;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+
+    public static class Shard {
+
+        // 是否开启分片执行超时清理，使用 ShardedQuartzJob 时开启
+        private boolean enabled = false;
+        // 发起分片后超过该时间仍未完成的分片执行按失败结束
+        private Duration runTimeout = Duration.ofHours(1);
+        // 清理间隔
+        private Duration sweepInterval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRunTimeout() {
+            return runTimeout;
+        }
+
+        public void setRunTimeout(Duration runTimeout) {
+            this.runTimeout = runTimeout;
+        }
+
+        public Duration getSweepInterval() {
+            return sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+    }
+
+    public static class AsyncJob {
+
+        // 完成回调线程数
+        private int completionThreads = 4;
+        // 等待执行的完成回调队列容量，已满时在完成异步结果的线程上执行
+        private int completionQueueCapacity = 10000;
+        // 容器关闭时等待剩余完成回调执行完的最长时间
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        public int getCompletionThreads() {
+            return completionThreads;
+        }
+
+        public void setCompletionThreads(int completionThreads) {
+            this.completionThreads = completionThreads;
+        }
+
+        public int getCompletionQueueCapacity() {
+            return completionQueueCapacity;
+        }
+
+        public void setCompletionQueueCapacity(int completionQueueCapacity) {
+            this.completionQueueCapacity = completionQueueCapacity;
+        }
+
+        public Duration getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+    }
+}
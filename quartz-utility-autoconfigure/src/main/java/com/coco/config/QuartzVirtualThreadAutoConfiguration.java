@@ -0,0 +1,42 @@
+package com.coco.config;
+
+import com.coco.pool.VirtualThreadPool;
+import java.util.Properties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+@AutoConfiguration
+@ConditionalOnClass(SchedulerFactoryBean.class)
+@ConditionalOnJava(JavaVersion.TWENTY_ONE)
+@ConditionalOnProperty(prefix = "quartz.utility.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({QuartzProperties.class, QuartzUtilityProperties.class})
+public class QuartzVirtualThreadAutoConfiguration {
+
+    /**
+     * 把 Quartz 线程池替换为 VirtualThreadPool。
+     * SchedulerFactoryBean 的 Quartz 属性只能整体设置，这里在 spring.quartz.properties 的基础上合并线程池配置。
+     */
+    @Bean
+    SchedulerFactoryBeanCustomizer virtualThreadPoolCustomizer(
+            @Autowired QuartzProperties quartzProperties,
+            @Autowired QuartzUtilityProperties properties) {
+        return schedulerFactoryBean -> {
+            Properties mergedProperties = new Properties();
+            mergedProperties.putAll(quartzProperties.getProperties());
+            mergedProperties.setProperty("org.quartz.threadPool.class",
+                    VirtualThreadPool.class.getName());
+            mergedProperties.setProperty("org.quartz.threadPool.threadCount",
+                    String.valueOf(properties.getVirtualThreads().getMaxConcurrency()));
+            schedulerFactoryBean.setQuartzProperties(mergedProperties);
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.coco.core;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 异步任务的完成回调执行器。
+ * 异步结果可能由 I/O 线程完成，超时则由 JDK 共享的 CompletableFuture 延迟线程完成，
+ * AsyncQuartzJob 把释放许可、写日志、记录失败指纹和安排重试交给这里的固定数量线程执行，不占用这些线程。
+ * 队列有界，队列已满或执行器已停止时回调在完成异步结果的线程上执行，回调不会丢失，许可总会释放。
+ * 生命周期阶段低于调度器、高于异步日志写入器，容器关闭时在调度器停止之后执行完剩余回调，日志仍可进入异步队列。
+ */
+public class AsyncJobCompletionExecutor implements Executor, SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(
+            AsyncJobCompletionExecutor.class.getName());
+
+    // 比调度器（SchedulerFactoryBean 默认 Integer.MAX_VALUE）后停止，比异步日志写入器先停止
+    private static final int PHASE = Integer.MAX_VALUE - 512;
+
+    private final ThreadPoolExecutor executor;
+    private final long shutdownTimeoutMillis;
+
+    private volatile boolean running;
+
+    /**
+     * @param threads         回调线程数
+     * @param queueCapacity   等待执行的回调队列容量
+     * @param shutdownTimeout 容器关闭时等待剩余回调执行完的最长时间
+     */
+    public AsyncJobCompletionExecutor(int threads, int queueCapacity, Duration shutdownTimeout) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "quartz-async-job-completion-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 队列已满或已停止时由调用线程执行
+                (runnable, pool) -> runnable.run());
+        // 没有异步任务时不保留线程
+        this.executor.allowCoreThreadTimeOut(true);
+        this.shutdownTimeoutMillis = shutdownTimeout.toMillis();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warning("Async job completions did not finish in " + shutdownTimeoutMillis
+                        + "ms, " + executor.getQueue().size() + " completions remaining.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
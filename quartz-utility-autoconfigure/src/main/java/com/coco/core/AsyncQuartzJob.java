@@ -0,0 +1,167 @@
+package com.coco.core;
+
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.enums.TransactionModeEnum;
+import com.coco.jfr.JobExecutionEvent;
+import com.coco.metrics.TaskMetricsRecorder;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 异步任务基类。
+ * executeAsync 发起异步操作并返回 CompletionStage 后 Quartz 工作线程立即归还，
+ * 日志、指标、失败指纹和重试在异步结果完成时处理，超过 getTimeout 仍未完成的执行按失败记录。
+ * 和 BaseAbstractQuartzJob 一样先按 QuartzComponent 的并发策略获取许可，许可保持到异步结果完成；
+ * 之后同一个任务在当前节点上同时未完成的异步执行数不超过 getMaxInFlight，超出时跳过本次触发并写入 EXEC_SKIPPED 日志。
+ *
+ * <p>完成回调交给 AsyncJobCompletionExecutor 的固定数量线程执行，不占用完成异步结果的 I/O 线程或超时使用的 JDK 共享延迟线程；
+ * 回调队列已满时回退到完成异步结果的线程上执行。同步写日志会占用回调线程，大量异步任务建议同时开启异步批量写日志。
+ * 日志写入不在任务的事务中，WRAP_JOB 模式按 LOG_ONLY 处理。超时不会取消异步操作本身。
+ */
+public abstract class AsyncQuartzJob extends QuartzJobSupport {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(AsyncQuartzJob.class.getName());
+
+    // 默认的超时时间
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+    // 默认的最大未完成异步执行数
+    private static final int DEFAULT_MAX_IN_FLIGHT = 100;
+
+    // 存在 MeterRegistry 时注入，否则为 null
+    @Autowired(required = false)
+    private TaskMetricsRecorder taskMetricsRecorder;
+
+    // 未使用自动配置时为 null，使用默认的完成回调执行器
+    @Autowired(required = false)
+    private AsyncJobCompletionExecutor completionExecutor;
+
+    /**
+     * 发起异步操作。
+     *
+     * @param context 任务执行上下文
+     * @return 异步结果，完成时记录日志
+     * @throws Throwable 发起时抛出的异常，按失败记录
+     */
+    protected abstract CompletionStage<?> executeAsync(JobExecutionContext context)
+            throws Throwable;
+
+    /**
+     * 获取异步执行的超时时间。
+     *
+     * @param context 任务执行上下文
+     * @return 超时时间，默认 1 分钟
+     */
+    protected Duration getTimeout(JobExecutionContext context) {
+        return DEFAULT_TIMEOUT;
+    }
+
+    /**
+     * 获取同一个任务在当前节点上的最大未完成异步执行数。
+     *
+     * @param context 任务执行上下文
+     * @return 最大未完成异步执行数，默认 100
+     */
+    protected int getMaxInFlight(JobExecutionContext context) {
+        return DEFAULT_MAX_IN_FLIGHT;
+    }
+
+    @Override
+    final void executeWithPermit(JobExecutionContext context,
+            JobConcurrencyLimiter.Permit permit) throws JobExecutionException {
+        JobKey jobKey = context.getJobDetail().getKey();
+        // 并发策略的许可已由 execute 获取，这里再限制未完成的异步执行数
+        JobConcurrencyLimiter jobConcurrencyLimiter = getJobConcurrencyLimiter();
+        JobConcurrencyLimiter.Permit inFlightPermit = jobConcurrencyLimiter == null
+                ? JobConcurrencyLimiter.UNLIMITED
+                : jobConcurrencyLimiter.tryAcquire("ASYNC:" + jobKey, getMaxInFlight(context));
+        if (inFlightPermit == null) {
+            permit.release();
+            saveSkippedLog(context, "Skipped: in-flight limit reached");
+            return;
+        }
+        // JFR 事件，时长从发起到异步结果完成后日志写入结束
+        JobExecutionEvent event = new JobExecutionEvent();
+        event.begin();
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        CompletableFuture<?> future;
+        try {
+            future = executeAsync(context).toCompletableFuture();
+        } catch (Throwable e) {
+            inFlightPermit.release();
+            permit.release();
+            complete(context, startTime, startNanos, event, e);
+            throw new JobExecutionException(e);
+        }
+        // 在副本上设置超时，不改变任务返回的异步结果
+        future.copy().orTimeout(getTimeout(context).toMillis(), TimeUnit.MILLISECONDS)
+                .whenCompleteAsync((result, e) -> {
+                    inFlightPermit.release();
+                    permit.release();
+                    if (taskMetricsRecorder != null) {
+                        taskMetricsRecorder.recordAsyncExecution(jobKey,
+                                System.nanoTime() - startNanos);
+                    }
+                    complete(context, startTime, startNanos, event, unwrap(e));
+                }, getCompletionExecutor());
+    }
+
+    /**
+     * 异步结果完成时记录日志，失败时记录失败指纹并按重试策略安排重试。
+     */
+    private void complete(JobExecutionContext context, long startTime, long startNanos,
+            JobExecutionEvent event, Throwable e) {
+        event.setTaskBody(System.nanoTime() - startNanos);
+        byte execState = LogTaskExecStateEnum.EXEC_SUCCESS.getCode();
+        TransactionModeEnum transactionMode = TransactionModeEnum.LOG_ONLY;
+        try {
+            String errorMessage = null;
+            if (e != null) {
+                execState = LogTaskExecStateEnum.EXEC_FAIL.getCode();
+                errorMessage = e instanceof TimeoutException
+                        ? "Async execution timed out"
+                        : getErrorMessage(context.getJobDetail().getKey(), e);
+                scheduleRetry(context, e);
+            }
+            transactionMode = getTransactionMode(context);
+            if (transactionMode == TransactionModeEnum.WRAP_JOB) {
+                transactionMode = TransactionModeEnum.LOG_ONLY;
+            }
+            saveTaskLog(context, buildTaskLog(context, execState, errorMessage, startTime,
+                    System.currentTimeMillis()), transactionMode, null, event);
+        } catch (Exception completeException) {
+            logger.log(Level.SEVERE, "Complete async job error: " + completeException.getMessage(),
+                    completeException);
+        }
+        event.commit(context, transactionMode, execState);
+    }
+
+    private Executor getCompletionExecutor() {
+        return completionExecutor != null ? completionExecutor : DefaultCompletionExecutor.INSTANCE;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * 未注入完成回调执行器时使用的默认执行器，首次使用时创建，线程空闲后回收。
+     */
+    private static class DefaultCompletionExecutor {
+
+        static final AsyncJobCompletionExecutor INSTANCE = new AsyncJobCompletionExecutor(4,
+                10000, Duration.ZERO);
+    }
+}
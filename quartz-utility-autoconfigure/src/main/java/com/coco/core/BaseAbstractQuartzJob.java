@@ -1,33 +1,16 @@
 package com.coco.core;
 
 import com.coco.enums.LogTaskExecStateEnum;
-import java.sql.SQLException;
+import com.coco.enums.TransactionModeEnum;
+import com.coco.jfr.JobExecutionEvent;
+import com.coco.log.TaskLogRecord;
 import java.sql.Timestamp;
-import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
-public abstract class BaseAbstractQuartzJob implements Job {
-
-    @Autowired
-    @Qualifier("quartzJdbcTemplate")
-    private JdbcTemplate quartzJdbcTemplate;
-
-    @Autowired
-    private PlatformTransactionManager transactionManager;
-
-    // 初始化 Java 标准库的日志记录器
-    private static final Logger logger = Logger.getLogger(BaseAbstractQuartzJob.class.getName());
+public abstract class BaseAbstractQuartzJob extends QuartzJobSupport {
 
     /**
      * 抽象方法，子类需要实现具体的任务执行逻辑
@@ -38,84 +21,73 @@ public abstract class BaseAbstractQuartzJob implements Job {
     protected abstract void executeQuartzTask(JobExecutionContext context) throws Throwable;
 
     @Override
-    public void execute(JobExecutionContext context) throws JobExecutionException {
-
-        TransactionDefinition def = new DefaultTransactionDefinition();
-        TransactionStatus status = transactionManager.getTransaction(def);
-
-        byte execState = LogTaskExecStateEnum.EXEC_SUCCESS.getCode();
-        String errorMessage = null;
+    final void executeWithPermit(JobExecutionContext context,
+            JobConcurrencyLimiter.Permit permit) throws JobExecutionException {
         try {
-            // 调用抽象方法执行具体任务
-            executeQuartzTask(context);
-        } catch (Throwable e) {
-            execState = LogTaskExecStateEnum.EXEC_FAIL.getCode();
-            errorMessage = e.getMessage();
-            throw new JobExecutionException(e);
+            doExecute(context);
         } finally {
-            // 记录日志
-            try {
-                String jobKey = context.getJobDetail().getKey().toString();
-                String triggerKey = context.getTrigger().getKey().toString();
-
-                Optional<Integer> optional = checkExists(jobKey, triggerKey);
-                if (optional.isPresent()) {
-                    // 更新LOG数据
-                    int update = updateTaskLog(execState, errorMessage, optional.get());
-                    if (update != 1) {
-                        throw new SQLException("update log error.");
-                    }
-                } else {
-                    // 插入LOG数据
-                    int insert = insertTaskLog(jobKey, triggerKey, execState, errorMessage);
-                    if (insert != 1) {
-                        throw new SQLException("insert log error.");
-                    }
-                }
-                // 提交事务
-                transactionManager.commit(status);
-            } catch (Exception e) {
-                // 回滚
-                transactionManager.rollback(status);
-                logger.log(Level.SEVERE, "Transaction rolled back due to an error: " + e.getMessage(), e);
-            }
+            permit.release();
         }
     }
 
-    private Optional<Integer> checkExists(String jobKey, String triggerKey) {
-        return quartzJdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> rs.getInt("id"), jobKey,
-                triggerKey).stream().findFirst();
-    }
-
-    /**
-     * 根据任务日志的 ID 更新执行状态、错误信息和执行时间
-     *
-     * @param id            任务日志的 ID
-     * @param execState     执行状态，0 失败，1 成功
-     * @param errorMessage  错误信息
-     * @return 更新的记录数
-     */
-    private int updateTaskLog(byte execState, String errorMessage, int id) {
-        return quartzJdbcTemplate.update(UPDATE_SQL, execState, errorMessage,
-                new Timestamp(System.currentTimeMillis()), id);
-    }
-
     /**
-     * 插入任务日志记录
+     * 写入任务日志记录
      *
      * @param jobKey        job 标识
      * @param triggerKey    trigger 标识
      * @param execState     执行状态（0 失败，1 成功）
      * @param errorMessage  错误信息（可为 null）
-     * @return 插入操作影响的行数
+     * @return 写入的记录数
+     * @deprecated 任务日志由 TaskLogStore 写入，同一个 (job_key, trigger_key) 只保留一行，
+     *             此方法委托给 TaskLogStore.save，已有记录时更新而不是再插入一行。请直接使用 TaskLogStore。
      */
+    @Deprecated
     public int insertTaskLog(String jobKey, String triggerKey, int execState, String errorMessage) {
-        return quartzJdbcTemplate.update(INSERT_SQL, jobKey, triggerKey, execState, errorMessage,
-                new Timestamp(System.currentTimeMillis()));
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        getTaskLogStore().save(new TaskLogRecord.Builder()
+                .setJobKey(jobKey)
+                .setTriggerKey(triggerKey)
+                .setExecState((byte) execState)
+                .setErrorMessage(errorMessage)
+                .setExecuteTime(now)
+                .setStartTime(now)
+                .setEndTime(now)
+                .build());
+        return 1;
     }
 
-    private static final String INSERT_SQL = "INSERT INTO quartz_task_log (job_key, trigger_key, exec_state, error_message, execute_time) VALUES (?, ?, ?, ?, ?)";
-    private static final String UPDATE_SQL = "UPDATE quartz_task_log SET exec_state = ?, error_message = ?, execute_time = ? WHERE id = ?";
-    private static final String SELECT_SQL = "SELECT id FROM quartz_task_log WHERE job_key = ? AND trigger_key = ?";
+    private void doExecute(JobExecutionContext context) throws JobExecutionException {
+        TransactionModeEnum transactionMode = getTransactionMode(context);
+        // JFR 事件，未开启记录时 begin 和 commit 都是空操作
+        JobExecutionEvent event = new JobExecutionEvent();
+        event.begin();
+        // 只有 WRAP_JOB 模式在任务体执行前开启事务并占用连接
+        TransactionStatus status = null;
+        if (transactionMode == TransactionModeEnum.WRAP_JOB) {
+            long acquireStart = System.nanoTime();
+            status = getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+            event.addTransactionAcquire(System.nanoTime() - acquireStart);
+        }
 
+        long startTime = System.currentTimeMillis();
+        long bodyStart = System.nanoTime();
+        byte execState = LogTaskExecStateEnum.EXEC_SUCCESS.getCode();
+        String errorMessage = null;
+        try {
+            // 调用抽象方法执行具体任务
+            executeQuartzTask(context);
+        } catch (Throwable e) {
+            execState = LogTaskExecStateEnum.EXEC_FAIL.getCode();
+            errorMessage = getErrorMessage(context.getJobDetail().getKey(), e);
+            scheduleRetry(context, e);
+            throw new JobExecutionException(e);
+        } finally {
+            event.setTaskBody(System.nanoTime() - bodyStart);
+            // 记录日志
+            TaskLogRecord record = buildTaskLog(context, execState, errorMessage,
+                    startTime, System.currentTimeMillis());
+            saveTaskLog(context, record, transactionMode, status, event);
+            event.commit(context, transactionMode, execState);
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.coco.core;
+
+import com.coco.annotation.QuartzTransaction;
+import com.coco.enums.TransactionModeEnum;
+import com.coco.exception.QuartzUtilityException;
+import com.coco.log.JdbcTaskCursorStore;
+import com.coco.log.TaskLogRecord;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 分段任务基类。
+ * 一轮执行拆分为多段，每段由 processChunk 处理并返回下一段的游标，段的处理和游标保存在同一个事务中提交，
+ * 游标保存在 quartz_task_cursor 表中。一次触发的执行时间超过 getTimeBudget 后，保存游标并安排一个立即触发的
+ * 续跑触发器（组名 QUARTZ_CHUNK）后归还工作线程，由续跑触发继续处理后续的段。
+ * 节点宕机后，requestRecovery 的恢复触发或任务的下一次常规触发会从最后保存的游标继续，已提交的段不会重复处理。
+ *
+ * <p>同一个任务同时只能执行一次，默认使用 LOG_ONLY 事务模式；使用 WRAP_JOB 时每段的事务会加入任务的事务，
+ * 游标要到整次触发结束时才提交。
+ */
+@DisallowConcurrentExecution
+@QuartzTransaction(TransactionModeEnum.LOG_ONLY)
+public abstract class ChunkedQuartzJob extends BaseAbstractQuartzJob {
+
+    // 默认的单次触发时间预算
+    private static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(30);
+    // JobExecutionContext 中标记本次触发处理完了一轮的键
+    private static final String RUN_COMPLETED = ChunkedQuartzJob.class.getName() + ".runCompleted";
+
+    @Autowired
+    private JdbcTaskCursorStore taskCursorStore;
+
+    /**
+     * 处理一段数据，与游标保存在同一个事务中执行。
+     *
+     * @param context 任务执行上下文
+     * @param cursor  本段的起始游标，一轮执行的第一段为 null
+     * @return 下一段的起始游标，返回 null 表示本轮执行已经完成
+     * @throws Throwable 可能抛出的异常，本段回滚，下次从本段的起始游标重新处理
+     */
+    protected abstract String processChunk(JobExecutionContext context, String cursor)
+            throws Throwable;
+
+    /**
+     * 获取单次触发的时间预算，超过后在当前段处理完成时让出工作线程。
+     *
+     * @param context 任务执行上下文
+     * @return 时间预算，默认 30 秒
+     */
+    protected Duration getTimeBudget(JobExecutionContext context) {
+        return DEFAULT_TIME_BUDGET;
+    }
+
+    @Override
+    protected final void executeQuartzTask(JobExecutionContext context) throws Throwable {
+        String jobKey = context.getJobDetail().getKey().toString();
+        String runId = context.getTrigger().getJobDataMap().getString(QuartzSign.CHUNK_RUN_ID);
+        JdbcTaskCursorStore.TaskCursor taskCursor = taskCursorStore.getCursor(jobKey);
+        if (runId != null && (taskCursor == null || !runId.equals(taskCursor.getRunId()))) {
+            // 过期的续跑触发，这一轮已经由其他触发继续处理完成
+            return;
+        }
+        String cursor = null;
+        if (taskCursor == null) {
+            runId = UUID.randomUUID().toString();
+            taskCursorStore.create(jobKey, runId, new Timestamp(System.currentTimeMillis()));
+        } else {
+            runId = taskCursor.getRunId();
+            cursor = taskCursor.getCursorValue();
+        }
+        long deadline = System.nanoTime() + getTimeBudget(context).toNanos();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(getTransactionManager());
+        do {
+            cursor = executeChunk(transactionTemplate, context, jobKey, runId, cursor);
+            if (cursor == null) {
+                context.put(RUN_COMPLETED, Boolean.TRUE);
+                return;
+            }
+        } while (System.nanoTime() - deadline < 0);
+        scheduleContinuation(context, runId);
+    }
+
+    /**
+     * 只在一轮处理完成时触发下游任务，安排了续跑或过期的续跑触发都不触发。
+     */
+    @Override
+    protected boolean shouldTriggerDownstream(JobExecutionContext context, TaskLogRecord record) {
+        return super.shouldTriggerDownstream(context, record)
+                && Boolean.TRUE.equals(context.get(RUN_COMPLETED));
+    }
+
+    private String executeChunk(TransactionTemplate transactionTemplate,
+            JobExecutionContext context, String jobKey, String runId, String cursor)
+            throws Throwable {
+        try {
+            return transactionTemplate.execute(status -> {
+                String nextCursor;
+                try {
+                    nextCursor = processChunk(context, cursor);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new ChunkException(e);
+                }
+                if (nextCursor == null) {
+                    taskCursorStore.delete(jobKey, runId);
+                } else if (!taskCursorStore.save(jobKey, runId, nextCursor)) {
+                    // 本轮执行已被删除，回滚本段，不再继续处理
+                    throw new QuartzUtilityException("Chunk run " + runId + " of " + jobKey
+                            + " no longer exists", QuartzUtilityException.PARAMETER_ABNORMAL);
+                }
+                return nextCursor;
+            });
+        } catch (ChunkException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 安排一个立即触发的续跑触发器，携带本轮执行标识和原触发器标识。
+     */
+    private void scheduleContinuation(JobExecutionContext context, String runId)
+            throws SchedulerException {
+        JobDataMap dataMap = getFollowUpDataMap(context);
+        dataMap.remove(QuartzSign.RETRY_ATTEMPT);
+        dataMap.put(QuartzSign.CHUNK_RUN_ID, runId);
+        context.getScheduler().scheduleJob(SchedulerCore.getOneShotTrigger(
+                TriggerKey.triggerKey(UUID.randomUUID().toString(), QuartzSign.CHUNK_GROUP),
+                context.getJobDetail().getKey(), dataMap, new Date()));
+    }
+
+    /**
+     * 在事务回调中传递 processChunk 抛出的受检异常。
+     */
+    private static class ChunkException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private ChunkException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
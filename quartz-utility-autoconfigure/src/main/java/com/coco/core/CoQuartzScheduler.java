@@ -1,6 +1,18 @@
 package com.coco.core;
 
 import com.coco.exception.QuartzUtilityException;
+import com.coco.fastpath.FastPathJobEngine;
+import com.coco.jfr.ScheduleOperationEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -8,18 +20,44 @@ import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
-import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
 import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 public class CoQuartzScheduler {
 
     private final Scheduler scheduler;
+    // 由 CoQuartzScheduler 管理的任务监听器，首次注册时才加入调度器
+    private final JobListenerRegistry jobListenerRegistry = new JobListenerRegistry();
+    private final JobChainRegistry jobChainRegistry = new JobChainRegistry();
+    private volatile boolean jobListenerRegistryInstalled;
+    // 未开启内存执行引擎时为 null
+    private FastPathJobEngine fastPathJobEngine;
+    private final StartTimeSpreader startTimeSpreader = new StartTimeSpreader();
+    // 可以为 null，设置后 scheduleAll 的读取在同一个只读事务中完成
+    private PlatformTransactionManager transactionManager;
 
     public CoQuartzScheduler(Scheduler scheduler) {
         this.scheduler = scheduler;
     }
 
+    public void setFastPathJobEngine(FastPathJobEngine fastPathJobEngine) {
+        this.fastPathJobEngine = fastPathJobEngine;
+    }
+
+    /**
+     * 设置 Quartz 数据源的事务管理器。使用 Spring 管理数据源的 JDBC JobStore 时，
+     * JobStore 的读取会加入当前事务，scheduleAll 的所有读取只占用一个连接和一个事务。
+     *
+     * @param transactionManager 事务管理器，可以为 null。
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * 安排一个简单间隔的任务，使用默认的 JobKey 和 TriggerKey，并携带任务数据。
      * 此方法会调用另一个重载的 scheduleSimpleIntervalJob 方法，将任务类、默认的 JobKey、TriggerKey、任务数据和 Quartz 组件信息传递过去。
@@ -53,7 +91,10 @@ public class CoQuartzScheduler {
 
     /**
      * 安排一个简单间隔的任务，可自定义 JobKey、TriggerKey，可携带任务数据和任务监听器。
-     * 该方法会检查是否存在已调度的任务，如果存在且执行间隔不同，会删除现有任务。
+     * 该方法通过定义指纹判断已调度的任务是否变化：未变化时不做任何写入；
+     * 只有触发规则变化时通过 rescheduleJob 替换触发器，并尽量保持原有的触发节奏；
+     * 只有任务定义变化时通过 addJob 原地替换 JobDetail，触发器保持不变。
+     * 开启内存执行引擎时，不持久化、不恢复的高频任务交给 FastPathJobEngine 执行，不进入 JobStore。
      * 若任务不存在，则根据 Quartz 组件中的时间枚举创建相应的触发器，并将任务和触发器注册到调度器中。
      *
      * @param jobClass       实现了 Job 接口的任务类，指定了具体的任务逻辑。
@@ -67,54 +108,459 @@ public class CoQuartzScheduler {
     public void scheduleSimpleIntervalJob(Class<? extends Job> jobClass, JobKey jobKey,
             TriggerKey triggerKey, JobDataMap jobDataMap, JobListener jobListener,
             QuartzComponent quartzComponent) throws SchedulerException {
+        ScheduleOperationEvent event = new ScheduleOperationEvent("scheduleSimpleIntervalJob");
+        event.begin();
 
         JobDetail jobDetail = SchedulerCore.getJobDetail(jobClass, jobKey, jobDataMap,
                 quartzComponent);
+        // 监听器只保存在内存中，任务已存在时（例如重启后）也需要注册
+        if (jobListener != null) {
+            addJobListener(jobListener, jobKey);
+        }
+        if (scheduleFastPath(jobDetail, triggerKey, quartzComponent) != null) {
+            commitScheduleEvent(event, jobKey, triggerKey, "FAST_PATH");
+            return;
+        }
+        JobDetail existingJobDetail = scheduler.getJobDetail(jobKey);
         Trigger existingTrigger = scheduler.getTrigger(triggerKey);
+        boolean jobChanged = isJobChanged(existingJobDetail, jobDetail);
+        boolean triggerChanged = isTriggerChanged(existingTrigger, jobKey, quartzComponent);
+
+        if (existingJobDetail == null || (jobChanged && triggerChanged)
+                || isTriggerMoved(existingTrigger, jobKey)) {
+            // 任务不存在、任务和触发器都变化，或触发器属于其他任务，一次性写入并替换触发器
+            scheduler.scheduleJob(jobDetail,
+                    Set.of(getTrigger(existingTrigger, jobKey, triggerKey, quartzComponent)), true);
+        } else if (jobChanged) {
+            // 只替换 JobDetail，触发器和下次触发时间保持不变
+            scheduler.addJob(jobDetail, true, true);
+        } else if (triggerChanged) {
+            Trigger trigger = getTrigger(existingTrigger, jobKey, triggerKey, quartzComponent);
+            if (existingTrigger == null) {
+                scheduler.scheduleJob(trigger);
+            } else {
+                scheduler.rescheduleJob(triggerKey, trigger);
+            }
+        }
+        commitScheduleEvent(event, jobKey, triggerKey, existingJobDetail == null ? "ADDED"
+                : jobChanged || triggerChanged ? "CHANGED" : "UNCHANGED");
+    }
+
+    private static void commitScheduleEvent(ScheduleOperationEvent event, JobKey jobKey,
+            TriggerKey triggerKey, String result) {
+        if (event.shouldCommit()) {
+            event.setJob(jobKey.toString(), triggerKey.toString(), result);
+            event.commit();
+        }
+    }
+
+    /**
+     * 批量安排简单间隔任务，等同于 scheduleAll(jobSpecs, false)，不删除任何已有任务。
+     *
+     * @param jobSpecs 任务定义集合。
+     * @return 对账结果，包含新增、变化和未变化的任务。
+     * @throws SchedulerException 如果在调度任务过程中出现异常。
+     */
+    public ScheduleReport scheduleAll(Collection<JobSpec> jobSpecs) throws SchedulerException {
+        return scheduleAll(jobSpecs, false);
+    }
+
+    /**
+     * 批量安排简单间隔任务，一次性对账大量任务定义。
+     * 先按组一次性读取已存在的触发器，计算出新增、变化和需要删除的任务，
+     * 再通过 scheduleJobs(Map, true) 一次性写入新增的任务，使用 JDBC JobStore 时这些写入只占用一个事务。
+     * 已存在的任务和触发器在比较前一次性加载，设置了事务管理器时这些无锁读取在同一个只读事务中完成，
+     * 之后在内存中比较定义指纹，未变化的任务不产生写入，
+     * 只有任务定义或只有触发规则变化的任务与 scheduleSimpleIntervalJob 一样原地替换。
+     *
+     * @param jobSpecs 任务定义集合。
+     * @param prune    是否删除任务定义所在的组中、但不在任务定义集合里的任务和触发器。
+     * @return 对账结果，包含新增、变化、未变化和删除的任务。
+     * @throws SchedulerException 如果在调度任务过程中出现异常。
+     */
+    public ScheduleReport scheduleAll(Collection<JobSpec> jobSpecs, boolean prune)
+            throws SchedulerException {
+        ScheduleOperationEvent event = new ScheduleOperationEvent("scheduleAll");
+        event.begin();
+        ScheduleReport report = new ScheduleReport();
+
+        // 按组读取已存在的触发器和任务，再一次性加载任务定义中已存在的任务和触发器
+        Set<TriggerKey> existingTriggerKeys = new HashSet<>();
+        Set<JobKey> existingJobKeys = new HashSet<>();
+        Set<String> jobGroups = new HashSet<>();
+        Map<JobKey, JobDetail> existingJobDetails = new HashMap<>();
+        Map<TriggerKey, Trigger> existingTriggers = new HashMap<>();
+        TransactionStatus status = null;
+        if (transactionManager != null) {
+            DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+            definition.setReadOnly(true);
+            status = transactionManager.getTransaction(definition);
+        }
+        try {
+            loadExisting(jobSpecs, existingJobKeys, existingTriggerKeys, jobGroups,
+                    existingJobDetails, existingTriggers);
+        } catch (SchedulerException | RuntimeException e) {
+            if (status != null) {
+                transactionManager.rollback(status);
+            }
+            throw e;
+        }
+        if (status != null) {
+            transactionManager.commit(status);
+        }
+
+        // 在内存中计算差异，比较定义指纹
+        Map<JobDetail, Set<? extends Trigger>> toSchedule = new LinkedHashMap<>();
+        List<JobDetail> toReplaceJobs = new ArrayList<>();
+        Map<TriggerKey, Trigger> toReschedule = new LinkedHashMap<>();
+        List<Trigger> toAddTriggers = new ArrayList<>();
+        Set<TriggerKey> specTriggerKeys = new HashSet<>();
+        Set<JobKey> specJobKeys = new HashSet<>();
+        for (JobSpec jobSpec : jobSpecs) {
+            JobKey jobKey = jobSpec.getJobKey();
+            TriggerKey triggerKey = jobSpec.getTriggerKey();
+            specTriggerKeys.add(triggerKey);
+            specJobKeys.add(jobKey);
+            QuartzComponent quartzComponent = jobSpec.getQuartzComponent();
+            if (jobSpec.getJobListener() != null) {
+                addJobListener(jobSpec.getJobListener(), jobKey);
+            }
+            JobDetail jobDetail = SchedulerCore.getJobDetail(jobSpec.getJobClass(), jobKey,
+                    jobSpec.getJobDataMap(), quartzComponent);
+            boolean fastPathAdded = fastPathJobEngine != null
+                    && !fastPathJobEngine.isScheduled(jobKey);
+            Boolean fastPathChanged = scheduleFastPath(jobDetail, triggerKey, quartzComponent);
+            if (fastPathChanged != null) {
+                existingJobKeys.remove(jobKey);
+                existingTriggerKeys.remove(triggerKey);
+                if (fastPathAdded) {
+                    report.addAdded(jobKey);
+                } else if (fastPathChanged) {
+                    report.addChanged(jobKey);
+                } else {
+                    report.addUnchanged(jobKey);
+                }
+                continue;
+            }
+            JobDetail existingJobDetail = existingJobDetails.get(jobKey);
+            Trigger existingTrigger = existingTriggers.get(triggerKey);
+            boolean jobChanged = isJobChanged(existingJobDetail, jobDetail);
+            boolean triggerChanged = isTriggerChanged(existingTrigger, jobKey, quartzComponent);
+            if (!jobChanged && !triggerChanged) {
+                report.addUnchanged(jobKey);
+                continue;
+            }
+            if (existingJobDetail == null) {
+                report.addAdded(jobKey);
+            } else {
+                report.addChanged(jobKey);
+            }
+            // 任务不存在时总是创建触发器，即使同名触发器的指纹未变化
+            Trigger trigger = triggerChanged || existingJobDetail == null
+                    ? getTrigger(existingTrigger, jobKey, triggerKey, quartzComponent) : null;
+            if (existingJobDetail == null || (jobChanged && triggerChanged)
+                    || isTriggerMoved(existingTrigger, jobKey)) {
+                toSchedule.put(jobDetail, Set.of(trigger));
+            } else if (jobChanged) {
+                toReplaceJobs.add(jobDetail);
+            } else if (existingTrigger == null) {
+                toAddTriggers.add(trigger);
+            } else {
+                toReschedule.put(triggerKey, trigger);
+            }
+        }
+        if (!toSchedule.isEmpty()) {
+            scheduler.scheduleJobs(toSchedule, true);
+        }
+        for (JobDetail jobDetail : toReplaceJobs) {
+            scheduler.addJob(jobDetail, true, true);
+        }
+        for (Trigger trigger : toAddTriggers) {
+            scheduler.scheduleJob(trigger);
+        }
+        for (Map.Entry<TriggerKey, Trigger> entry : toReschedule.entrySet()) {
+            scheduler.rescheduleJob(entry.getKey(), entry.getValue());
+        }
+
+        // 删除不在任务定义中的任务和触发器
+        if (prune) {
+            List<JobKey> orphanJobKeys = new ArrayList<>();
+            for (JobKey jobKey : existingJobKeys) {
+                if (!specJobKeys.contains(jobKey)) {
+                    orphanJobKeys.add(jobKey);
+                }
+            }
+            List<TriggerKey> orphanTriggerKeys = new ArrayList<>();
+            for (TriggerKey triggerKey : existingTriggerKeys) {
+                if (!specTriggerKeys.contains(triggerKey)) {
+                    orphanTriggerKeys.add(triggerKey);
+                }
+            }
+            if (!orphanTriggerKeys.isEmpty()) {
+                scheduler.unscheduleJobs(orphanTriggerKeys);
+                orphanTriggerKeys.forEach(report::addRemovedTrigger);
+            }
+            if (!orphanJobKeys.isEmpty()) {
+                scheduler.deleteJobs(orphanJobKeys);
+                orphanJobKeys.forEach(report::addRemovedJob);
+            }
+            if (fastPathJobEngine != null) {
+                for (JobKey jobKey : fastPathJobEngine.getJobKeys()) {
+                    if (jobGroups.contains(jobKey.getGroup()) && !specJobKeys.contains(jobKey)
+                            && fastPathJobEngine.unschedule(jobKey)) {
+                        report.addRemovedJob(jobKey);
+                    }
+                }
+            }
+        }
+        if (event.shouldCommit()) {
+            event.setCounts(jobSpecs.size(), report.getAdded().size(), report.getChanged().size(),
+                    report.getUnchanged().size(), report.getRemovedJobs().size());
+            event.commit();
+        }
+        return report;
+    }
+
+    /**
+     * 按组读取已存在的任务和触发器标识，并加载任务定义中已存在的任务和触发器。
+     * 每个组只读取一次标识，已加载的任务和触发器不重复读取。
+     */
+    private void loadExisting(Collection<JobSpec> jobSpecs, Set<JobKey> existingJobKeys,
+            Set<TriggerKey> existingTriggerKeys, Set<String> jobGroups,
+            Map<JobKey, JobDetail> existingJobDetails, Map<TriggerKey, Trigger> existingTriggers)
+            throws SchedulerException {
+        Set<String> triggerGroups = new HashSet<>();
+        for (JobSpec jobSpec : jobSpecs) {
+            if (triggerGroups.add(jobSpec.getTriggerKey().getGroup())) {
+                existingTriggerKeys.addAll(scheduler.getTriggerKeys(
+                        GroupMatcher.triggerGroupEquals(jobSpec.getTriggerKey().getGroup())));
+            }
+            if (jobGroups.add(jobSpec.getJobKey().getGroup())) {
+                existingJobKeys.addAll(scheduler.getJobKeys(
+                        GroupMatcher.jobGroupEquals(jobSpec.getJobKey().getGroup())));
+            }
+        }
+        for (JobSpec jobSpec : jobSpecs) {
+            JobKey jobKey = jobSpec.getJobKey();
+            TriggerKey triggerKey = jobSpec.getTriggerKey();
+            if (existingJobKeys.contains(jobKey) && !existingJobDetails.containsKey(jobKey)) {
+                JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+                if (jobDetail != null) {
+                    existingJobDetails.put(jobKey, jobDetail);
+                }
+            }
+            if (existingTriggerKeys.contains(triggerKey)
+                    && !existingTriggers.containsKey(triggerKey)) {
+                Trigger trigger = scheduler.getTrigger(triggerKey);
+                if (trigger != null) {
+                    existingTriggers.put(triggerKey, trigger);
+                }
+            }
+        }
+    }
+
+    /**
+     * 为指定任务注册监听器。监听器按名称去重，重复注册同名监听器只会合并作用范围，
+     * 监听器只会收到作用范围内任务的事件。
+     *
+     * @param jobListener 任务监听器。
+     * @param jobKey      监听的任务。
+     * @throws SchedulerException 如果注册到调度器失败。
+     */
+    public void addJobListener(JobListener jobListener, JobKey jobKey) throws SchedulerException {
+        installJobListenerRegistry();
+        jobListenerRegistry.addJobListener(jobListener, jobKey);
+    }
+
+    /**
+     * 为指定组的所有任务注册监听器，去重规则同 addJobListener(JobListener, JobKey)。
+     *
+     * @param jobListener 任务监听器。
+     * @param group       监听的任务组。
+     * @throws SchedulerException 如果注册到调度器失败。
+     */
+    public void addJobListener(JobListener jobListener, String group) throws SchedulerException {
+        installJobListenerRegistry();
+        jobListenerRegistry.addJobListener(jobListener, group);
+    }
+
+    /**
+     * 按名称移除由 CoQuartzScheduler 管理的监听器。
+     *
+     * @param name 监听器名称。
+     * @return 监听器是否存在。
+     */
+    public boolean removeJobListener(String name) {
+        return jobListenerRegistry.removeJobListener(name);
+    }
 
-        // 是否存在已调度的任务
-        if (existingTrigger != null) {
-            // 获取执行间隔时间（单位毫秒）
-            int currentInterval = (int) ((SimpleTrigger) existingTrigger).getRepeatInterval();
-            int newInterval = getInterval(quartzComponent);
-            // 如果间隔不同，删除现有任务
-            if (currentInterval != newInterval) {
-                scheduler.pauseTrigger(triggerKey);
-                scheduler.unscheduleJob(triggerKey);
-                scheduler.deleteJob(jobDetail.getKey());
-            }
-        }
-
-        // 将任务和触发器注册到Scheduler中
-        if (!scheduler.checkExists(jobDetail.getKey())) {
-            Trigger trigger;
-            switch (quartzComponent.getTimeEnum()) {
-                case HOURS -> trigger = SchedulerCore.getHoursSimpleTrigger(triggerKey,
-                        quartzComponent.getTimeInterval());
-                case MINUTES -> trigger = SchedulerCore.getMinuteSimpleTrigger(triggerKey,
-                        quartzComponent.getTimeInterval());
-                case SECONDS -> trigger = SchedulerCore.getSecondsSimpleTrigger(triggerKey,
-                        quartzComponent.getTimeInterval());
-                default -> throw new QuartzUtilityException("The interval type is abnormal",
-                        QuartzUtilityException.PARAMETER_ABNORMAL);
-            }
-            if (jobListener != null) {
-                scheduler.getListenerManager().addJobListener(jobListener);
-            }
-            scheduler.scheduleJob(jobDetail, trigger);
-        }
-    }
-
-    private int getInterval(QuartzComponent quartzComponent) {
-        int newInterval;
-        switch (quartzComponent.getTimeEnum()) {
-            case HOURS -> newInterval = quartzComponent.getTimeInterval() * 60 * 60 * 1000;
-            case MINUTES -> newInterval = quartzComponent.getTimeInterval() * 60 * 1000;
-            case SECONDS -> newInterval = quartzComponent.getTimeInterval() * 1000;
-            default -> throw new QuartzUtilityException("The interval type is abnormal",
+    private void installJobListenerRegistry() throws SchedulerException {
+        if (!jobListenerRegistryInstalled) {
+            synchronized (jobListenerRegistry) {
+                if (!jobListenerRegistryInstalled) {
+                    scheduler.getListenerManager().addJobListener(jobListenerRegistry);
+                    jobListenerRegistryInstalled = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 声明任务依赖：上游任务全部执行成功后，通过一次性触发器立即触发一次下游任务，替换该下游任务之前声明的依赖。
+     * 依赖关系只保存在内存中，每个节点启动时都需要声明；多个上游的汇合状态保存在 JobStore 中，重启后仍然有效。
+     * 下游任务必须已存在于 JobStore 中，且为持久化任务或有自己的触发器，否则触发一次后会被 Quartz 删除。
+     *
+     * @param downstream 下游任务。
+     * @param upstreams  上游任务，一个上游对应多个下游即为扇出，一个下游对应多个上游即为汇合。
+     * @throws SchedulerException 如果清理已不属于依赖的汇合标记失败。
+     */
+    public void addJobDependency(JobKey downstream, Collection<JobKey> upstreams)
+            throws SchedulerException {
+        jobChainRegistry.addDependency(downstream, upstreams);
+        List<JobKey> declared = jobChainRegistry.getUpstreams(downstream);
+        // 只有一个上游时不使用汇合标记
+        removeJoinMarkers(downstream, declared.size() > 1 ? Set.copyOf(declared) : Set.of());
+    }
+
+    /**
+     * 注册一个只由上游任务触发的持久化任务并声明依赖，任务定义未变化时不产生写入。
+     *
+     * @param jobClass        实现了 Job 接口的任务类。
+     * @param jobKey          下游任务的唯一标识。
+     * @param jobDataMap      任务数据映射。可以为 null。
+     * @param quartzComponent 任务配置，时间间隔等触发器配置不生效，durability 必须为 true。
+     * @param upstreams       上游任务。
+     * @throws SchedulerException 如果注册任务失败。
+     */
+    public void scheduleDependentJob(Class<? extends Job> jobClass, JobKey jobKey,
+            JobDataMap jobDataMap, QuartzComponent quartzComponent, Collection<JobKey> upstreams)
+            throws SchedulerException {
+        if (!quartzComponent.isDurability()) {
+            throw new QuartzUtilityException("Dependent job " + jobKey + " must be durable",
                     QuartzUtilityException.PARAMETER_ABNORMAL);
         }
-        return newInterval;
+        JobDetail jobDetail = SchedulerCore.getJobDetail(jobClass, jobKey, jobDataMap,
+                quartzComponent);
+        if (isJobChanged(scheduler.getJobDetail(jobKey), jobDetail)) {
+            scheduler.addJob(jobDetail, true);
+        }
+        addJobDependency(jobKey, upstreams);
+    }
+
+    /**
+     * 移除下游任务的全部依赖，并删除未完成的汇合标记。
+     *
+     * @param downstream 下游任务。
+     * @return 依赖是否存在。
+     * @throws SchedulerException 如果删除汇合标记失败。
+     */
+    public boolean removeJobDependency(JobKey downstream) throws SchedulerException {
+        boolean removed = jobChainRegistry.removeDependency(downstream);
+        removeJoinMarkers(downstream, Set.of());
+        return removed;
+    }
+
+    public JobChainRegistry getJobChainRegistry() {
+        return jobChainRegistry;
+    }
+
+    /**
+     * 任务执行成功后由 BaseAbstractQuartzJob 调用，触发已满足依赖的下游任务。
+     */
+    void onJobSucceeded(JobKey jobKey) {
+        jobChainRegistry.onSucceeded(scheduler, jobKey);
+    }
+
+    /**
+     * 删除下游任务中上游不在 upstreams 里的汇合标记，避免依赖变化后残留的标记参与汇合。
+     */
+    private void removeJoinMarkers(JobKey downstream, Set<JobKey> upstreams)
+            throws SchedulerException {
+        Set<TriggerKey> keep = new HashSet<>();
+        for (JobKey upstream : upstreams) {
+            keep.add(JobChainRegistry.getJoinMarkerKey(downstream, upstream));
+        }
+        List<TriggerKey> staleKeys = new ArrayList<>();
+        for (Trigger trigger : scheduler.getTriggersOfJob(downstream)) {
+            if (QuartzSign.CHAIN_JOIN_GROUP.equals(trigger.getKey().getGroup())
+                    && !keep.contains(trigger.getKey())) {
+                staleKeys.add(trigger.getKey());
+            }
+        }
+        if (!staleKeys.isEmpty()) {
+            scheduler.unscheduleJobs(staleKeys);
+        }
+    }
+
+    /**
+     * 由内存执行引擎执行符合条件的任务，JobStore 中已存在的同名任务会被删除，避免重复执行；
+     * 不符合条件的任务如果之前在内存执行引擎中，则从引擎中移除。
+     *
+     * @return 任务交给内存执行引擎时返回是否新增或变化，否则返回 null
+     */
+    private Boolean scheduleFastPath(JobDetail jobDetail, TriggerKey triggerKey,
+            QuartzComponent quartzComponent) throws SchedulerException {
+        if (fastPathJobEngine == null) {
+            return null;
+        }
+        if (!fastPathJobEngine.supports(jobDetail.getJobClass(), quartzComponent)) {
+            fastPathJobEngine.unschedule(jobDetail.getKey());
+            return null;
+        }
+        if (scheduler.checkExists(jobDetail.getKey())) {
+            scheduler.deleteJob(jobDetail.getKey());
+        }
+        return fastPathJobEngine.schedule(jobDetail, SchedulerCore.getSimpleTrigger(triggerKey,
+                quartzComponent, startTimeSpreader.getStartTime(jobDetail.getKey(), quartzComponent)));
+    }
+
+    private static boolean isJobChanged(JobDetail existingJobDetail, JobDetail jobDetail) {
+        return existingJobDetail == null || !Objects.equals(
+                existingJobDetail.getJobDataMap().get(QuartzSign.JOB_FINGERPRINT),
+                jobDetail.getJobDataMap().get(QuartzSign.JOB_FINGERPRINT));
+    }
+
+    // 没有指纹的触发器（由旧版本创建）视为已变化，重新调度一次后写入指纹
+    private static boolean isTriggerChanged(Trigger existingTrigger, JobKey jobKey,
+            QuartzComponent quartzComponent) {
+        return existingTrigger == null || isTriggerMoved(existingTrigger, jobKey)
+                || !Objects.equals(
+                        existingTrigger.getJobDataMap().get(QuartzSign.TRIGGER_FINGERPRINT),
+                        JobFingerprint.ofTrigger(quartzComponent));
+    }
+
+    /**
+     * 已存在的同名触发器属于其他任务，例如任务改名但保留了触发器标识。
+     * rescheduleJob 不能把触发器转移到其他任务，需要随任务一起以替换方式写入。
+     */
+    private static boolean isTriggerMoved(Trigger existingTrigger, JobKey jobKey) {
+        return existingTrigger != null && !jobKey.equals(existingTrigger.getJobKey());
+    }
+
+    /**
+     * 创建新的触发器。新建的触发器按 QuartzComponent 的分散策略确定第一次触发时间；
+     * 替换已有触发器时，以上一次触发时间加新的间隔作为开始时间，保持原有的触发节奏，
+     * 并且不晚于原来的下一次触发时间太多，也不早于当前时间。
+     */
+    private Trigger getTrigger(Trigger existingTrigger, JobKey jobKey,
+            TriggerKey triggerKey, QuartzComponent quartzComponent) {
+        Trigger trigger;
+        if (existingTrigger == null) {
+            trigger = SchedulerCore.getSimpleTrigger(triggerKey, quartzComponent,
+                    startTimeSpreader.getStartTime(jobKey, quartzComponent));
+        } else {
+            long now = System.currentTimeMillis();
+            long interval = SchedulerCore.getIntervalMillis(quartzComponent);
+            long startTime = now;
+            if (existingTrigger.getPreviousFireTime() != null) {
+                startTime = existingTrigger.getPreviousFireTime().getTime() + interval;
+            } else if (existingTrigger.getNextFireTime() != null) {
+                startTime = Math.min(existingTrigger.getNextFireTime().getTime(), now + interval);
+            }
+            trigger = SchedulerCore.getSimpleTrigger(triggerKey, quartzComponent,
+                    new Date(Math.max(startTime, now)));
+        }
+        return trigger.getTriggerBuilder().forJob(jobKey).build();
     }
 
     public TriggerKey getTriggerKey(String taskName) {
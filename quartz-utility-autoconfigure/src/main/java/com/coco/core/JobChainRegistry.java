@@ -0,0 +1,229 @@
+package com.coco.core;
+
+import com.coco.exception.QuartzUtilityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+
+/**
+ * CoQuartzScheduler 管理的任务依赖注册表。
+ * 依赖关系和监听器一样只保存在内存中，每个节点启动时声明；上游任务执行成功后由 BaseAbstractQuartzJob 通知注册表，
+ * 注册表通过一次性触发器立即触发下游任务。
+ * 下游任务有多个上游时，每个上游的完成记录为 QUARTZ_CHAIN_JOIN 组中一个永不触发的标记触发器，
+ * 标记保存在 JobStore 中，重启后仍然有效；所有上游都完成后删除标记并触发一次下游任务。
+ */
+public class JobChainRegistry {
+
+    // 标记触发器的触发时间，9999-12-31，保证永远不会被触发
+    private static final Date JOIN_MARKER_FIRE_TIME = new Date(253402214400000L);
+
+    private static final JobKey[] EMPTY = new JobKey[0];
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(JobChainRegistry.class.getName());
+
+    // 下游任务及其上游任务，只在声明时加锁修改
+    private final Map<JobKey, Set<JobKey>> dependencies = new LinkedHashMap<>();
+    // 分发索引，读取无锁，写入时整体替换数组；上游数组按 JobKey 排序
+    private final Map<JobKey, JobKey[]> downstreamIndex = new ConcurrentHashMap<>();
+    private final Map<JobKey, JobKey[]> upstreamIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 声明下游任务依赖的上游任务，替换该下游任务之前声明的依赖。
+     *
+     * @param downstream 下游任务
+     * @param upstreams  上游任务，全部执行成功后触发一次下游任务
+     */
+    public synchronized void addDependency(JobKey downstream, Collection<JobKey> upstreams) {
+        if (downstream == null || upstreams == null || upstreams.isEmpty()) {
+            throw new QuartzUtilityException("Job dependency requires a downstream job and "
+                    + "at least one upstream job", QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+        Set<JobKey> upstreamSet = new TreeSet<>(upstreams);
+        JobKey cycleKey = findReachable(downstream, upstreamSet);
+        if (cycleKey != null) {
+            throw new QuartzUtilityException("Job dependency " + cycleKey + " -> " + downstream
+                    + " creates a cycle", QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+        Set<JobKey> previous = dependencies.put(downstream, upstreamSet);
+        upstreamIndex.put(downstream, upstreamSet.toArray(EMPTY));
+        Set<JobKey> changed = new HashSet<>(upstreamSet);
+        if (previous != null) {
+            changed.addAll(previous);
+        }
+        changed.forEach(this::rebuildDownstreamIndex);
+    }
+
+    /**
+     * 移除下游任务的全部依赖。
+     *
+     * @param downstream 下游任务
+     * @return 依赖是否存在
+     */
+    public synchronized boolean removeDependency(JobKey downstream) {
+        Set<JobKey> previous = dependencies.remove(downstream);
+        if (previous == null) {
+            return false;
+        }
+        upstreamIndex.remove(downstream);
+        previous.forEach(this::rebuildDownstreamIndex);
+        return true;
+    }
+
+    /**
+     * 获取下游任务依赖的上游任务。
+     *
+     * @param downstream 下游任务
+     * @return 按 JobKey 排序的上游任务，没有依赖时为空
+     */
+    public List<JobKey> getUpstreams(JobKey downstream) {
+        return List.of(upstreamIndex.getOrDefault(downstream, EMPTY));
+    }
+
+    /**
+     * 获取依赖上游任务的下游任务。
+     *
+     * @param upstream 上游任务
+     * @return 下游任务，没有时为空
+     */
+    public List<JobKey> getDownstreams(JobKey upstream) {
+        return List.of(downstreamIndex.getOrDefault(upstream, EMPTY));
+    }
+
+    /**
+     * 上游任务执行成功，触发所有已满足依赖的下游任务。触发失败只记录日志，不影响上游任务。
+     *
+     * @param scheduler 调度器
+     * @param upstream  执行成功的上游任务
+     */
+    public void onSucceeded(Scheduler scheduler, JobKey upstream) {
+        JobKey[] downstreams = downstreamIndex.get(upstream);
+        if (downstreams == null) {
+            return;
+        }
+        for (JobKey downstream : downstreams) {
+            JobKey[] upstreams = upstreamIndex.get(downstream);
+            if (upstreams == null) {
+                // 依赖已被移除
+                continue;
+            }
+            try {
+                if (upstreams.length == 1 || join(scheduler, downstream, upstream, upstreams)) {
+                    trigger(scheduler, downstream, upstream);
+                }
+            } catch (SchedulerException e) {
+                logger.log(Level.SEVERE, "Trigger downstream job " + downstream + " of "
+                        + upstream + " error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 获取记录上游任务完成的标记触发器标识。
+     *
+     * @param downstream 下游任务
+     * @param upstream   上游任务
+     * @return 标记触发器标识
+     */
+    public static TriggerKey getJoinMarkerKey(JobKey downstream, JobKey upstream) {
+        return TriggerKey.triggerKey(downstream + "<-" + upstream, QuartzSign.CHAIN_JOIN_GROUP);
+    }
+
+    /**
+     * 记录上游任务的完成，所有上游都已完成时认领本轮并删除全部标记。
+     * 认领通过删除第一个上游的标记完成，删除操作在 JobStore 中是原子的，多个节点同时满足条件时只有一个节点能删除成功。
+     *
+     * @return 本轮是否由当前调用认领，认领后需要触发下游任务
+     */
+    private static boolean join(Scheduler scheduler, JobKey downstream, JobKey upstream,
+            JobKey[] upstreams) throws SchedulerException {
+        try {
+            scheduler.scheduleJob(SchedulerCore.getOneShotTrigger(
+                    getJoinMarkerKey(downstream, upstream), downstream, null,
+                    JOIN_MARKER_FIRE_TIME));
+        } catch (ObjectAlreadyExistsException e) {
+            // 本轮已经记录过该上游的完成，一轮中每个上游只计一次
+        }
+        for (JobKey key : upstreams) {
+            if (!scheduler.checkExists(getJoinMarkerKey(downstream, key))) {
+                return false;
+            }
+        }
+        if (!scheduler.unscheduleJob(getJoinMarkerKey(downstream, upstreams[0]))) {
+            // 本轮已被其他线程或节点认领
+            return false;
+        }
+        List<TriggerKey> markerKeys = new ArrayList<>(upstreams.length - 1);
+        for (int i = 1; i < upstreams.length; i++) {
+            markerKeys.add(getJoinMarkerKey(downstream, upstreams[i]));
+        }
+        scheduler.unscheduleJobs(markerKeys);
+        return true;
+    }
+
+    /**
+     * 安排一个立即触发的一次性触发器，日志使用 QUARTZ_CHAIN 组中以下游任务名称命名的固定触发器标识。
+     */
+    private static void trigger(Scheduler scheduler, JobKey downstream, JobKey upstream)
+            throws SchedulerException {
+        JobDataMap dataMap = new JobDataMap();
+        dataMap.put(QuartzSign.CHAIN_UPSTREAM, upstream.toString());
+        dataMap.put(QuartzSign.ORIGIN_TRIGGER_NAME, downstream.getName());
+        dataMap.put(QuartzSign.ORIGIN_TRIGGER_GROUP, QuartzSign.CHAIN_GROUP);
+        scheduler.scheduleJob(SchedulerCore.getOneShotTrigger(
+                TriggerKey.triggerKey(UUID.randomUUID().toString(), QuartzSign.CHAIN_GROUP),
+                downstream, dataMap, new Date()));
+    }
+
+    /**
+     * 沿已声明的依赖从 start 向下游查找，返回第一个能到达的目标任务。
+     */
+    private JobKey findReachable(JobKey start, Set<JobKey> targets) {
+        Deque<JobKey> pending = new ArrayDeque<>();
+        Set<JobKey> visited = new HashSet<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            JobKey jobKey = pending.pop();
+            if (targets.contains(jobKey)) {
+                return jobKey;
+            }
+            if (visited.add(jobKey)) {
+                pending.addAll(Arrays.asList(downstreamIndex.getOrDefault(jobKey, EMPTY)));
+            }
+        }
+        return null;
+    }
+
+    private void rebuildDownstreamIndex(JobKey upstream) {
+        List<JobKey> downstreams = new ArrayList<>();
+        for (Map.Entry<JobKey, Set<JobKey>> entry : dependencies.entrySet()) {
+            if (entry.getValue().contains(upstream)) {
+                downstreams.add(entry.getKey());
+            }
+        }
+        if (downstreams.isEmpty()) {
+            downstreamIndex.remove(upstream);
+        } else {
+            downstreamIndex.put(upstream, downstreams.toArray(EMPTY));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.coco.core;
+
+import com.coco.enums.ConcurrencyScopeEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+
+/**
+ * 当前节点上的任务并发控制。
+ * 按任务或任务组维护计数器，配置保存在 JobDataMap 中，由 BaseAbstractQuartzJob 在执行任务体之前获取许可。
+ * 获取许可从不阻塞，QUEUE 策略下没有空闲许可时由 BaseAbstractQuartzJob 按 getQueueDelayMillis 安排一次性触发器延迟重试，
+ * 不占用工作线程，超过 queueTimeout 仍未获取到许可时跳过。
+ * 每个任务或任务组只有一个计数器，并发数变更时原地调整上限，正在执行的任务仍然计入。
+ * 同一组的任务设置了不同的 maxConcurrency 时，组的上限取其中最小的值并记录警告。
+ * 只限制单个节点上的并发数，集群中每个节点各自计数。
+ */
+public class JobConcurrencyLimiter {
+
+    // 不限制并发时返回的许可
+    static final Permit UNLIMITED = new Permit(null);
+
+    // 默认的排队重试初始延迟、最大延迟和排队超时
+    private static final Duration DEFAULT_QUEUE_DELAY = Duration.ofMillis(200);
+    private static final Duration DEFAULT_QUEUE_MAX_DELAY = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_QUEUE_TIMEOUT = Duration.ofMinutes(10);
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(JobConcurrencyLimiter.class.getName());
+
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+
+    private final Duration queueDelay;
+    private final Duration queueMaxDelay;
+    private final Duration queueTimeout;
+
+    public JobConcurrencyLimiter() {
+        this(DEFAULT_QUEUE_DELAY, DEFAULT_QUEUE_MAX_DELAY, DEFAULT_QUEUE_TIMEOUT);
+    }
+
+    /**
+     * @param queueDelay    QUEUE 策略第一次延迟重试的间隔，之后每次翻倍
+     * @param queueMaxDelay 延迟重试间隔的上限
+     * @param queueTimeout  从第一次排队起超过该时间仍未获取到许可时跳过本次触发
+     */
+    public JobConcurrencyLimiter(Duration queueDelay, Duration queueMaxDelay,
+            Duration queueTimeout) {
+        this.queueDelay = queueDelay;
+        this.queueMaxDelay = queueMaxDelay;
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * 尝试获取执行许可，不阻塞。
+     *
+     * @param jobDetail 任务详情
+     * @return 执行许可，执行结束后必须调用 release；达到并发上限时返回 null
+     */
+    public Permit tryAcquire(JobDetail jobDetail) {
+        if (getOverlapPolicy(jobDetail) == OverlapPolicyEnum.RUN) {
+            return UNLIMITED;
+        }
+        JobDataMap jobDataMap = jobDetail.getJobDataMap();
+        int maxConcurrency = Math.max(jobDataMap.getIntValue(QuartzSign.MAX_CONCURRENCY), 1);
+        ConcurrencyScopeEnum scope = ConcurrencyScopeEnum.valueOf(
+                jobDataMap.getString(QuartzSign.CONCURRENCY_SCOPE));
+        String name = scope == ConcurrencyScopeEnum.GROUP
+                ? "GROUP:" + jobDetail.getKey().getGroup()
+                : "JOB:" + jobDetail.getKey();
+        return tryAcquire(name, jobDetail.getKey().toString(), maxConcurrency);
+    }
+
+    /**
+     * 按名称尝试获取执行许可，不阻塞。
+     *
+     * @param name    许可名称
+     * @param permits 同一名称的最大许可数
+     * @return 执行许可，执行结束后必须调用 release；没有空闲许可时返回 null
+     */
+    public Permit tryAcquire(String name, int permits) {
+        return tryAcquire(name, name, Math.max(permits, 1));
+    }
+
+    private Permit tryAcquire(String name, String owner, int permits) {
+        Limit limit = limits.computeIfAbsent(name, Limit::new);
+        limit.setMaxPermits(owner, permits);
+        return limit.tryAcquire() ? new Permit(limit) : null;
+    }
+
+    /**
+     * 获取任务的并发策略，未设置时为 RUN。
+     *
+     * @param jobDetail 任务详情
+     * @return 并发策略
+     */
+    public static OverlapPolicyEnum getOverlapPolicy(JobDetail jobDetail) {
+        String overlapPolicy = jobDetail.getJobDataMap().getString(QuartzSign.OVERLAP_POLICY);
+        return overlapPolicy == null ? OverlapPolicyEnum.RUN
+                : OverlapPolicyEnum.valueOf(overlapPolicy);
+    }
+
+    /**
+     * 获取 QUEUE 策略第 attempt 次延迟重试的间隔：queueDelay * 2^attempt，不超过 queueMaxDelay。
+     *
+     * @param attempt 已经延迟重试的次数，从 0 开始
+     * @return 延迟（毫秒）
+     */
+    public long getQueueDelayMillis(int attempt) {
+        long delay = queueDelay.toMillis() << Math.min(Math.max(attempt, 0), 20);
+        return Math.min(delay, queueMaxDelay.toMillis());
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    /**
+     * 一个任务、任务组或名称对应的计数器。
+     * 每个使用者（任务）登记自己的上限，计数器的上限取所有使用者中最小的值。
+     */
+    private static final class Limit {
+
+        private final String name;
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final Map<String, Integer> ownerPermits = new ConcurrentHashMap<>();
+        private volatile int maxPermits;
+
+        private Limit(String name) {
+            this.name = name;
+        }
+
+        private void setMaxPermits(String owner, int permits) {
+            Integer previous = ownerPermits.put(owner, permits);
+            if (previous != null && previous == permits) {
+                return;
+            }
+            synchronized (this) {
+                int min = Integer.MAX_VALUE;
+                int max = 0;
+                for (int value : ownerPermits.values()) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                if (min != max) {
+                    logger.log(Level.WARNING, "Conflicting maxConcurrency in " + name + ": "
+                            + ownerPermits + ", using the smallest " + min);
+                }
+                maxPermits = min;
+            }
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = inUse.get();
+                if (current >= maxPermits) {
+                    return false;
+                }
+                if (inUse.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            inUse.decrementAndGet();
+        }
+    }
+
+    /**
+     * 执行许可。
+     */
+    public static final class Permit {
+
+        private final Limit limit;
+
+        private Permit(Limit limit) {
+            this.limit = limit;
+        }
+
+        public void release() {
+            if (limit != null) {
+                limit.release();
+            }
+        }
+    }
+}
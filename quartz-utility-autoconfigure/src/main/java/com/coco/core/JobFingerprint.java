@@ -0,0 +1,79 @@
+package com.coco.core;
+
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.exception.QuartzUtilityException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+
+/**
+ * 任务定义指纹。
+ * 任务指纹覆盖任务类、描述、恢复、持久化、事务模式和任务数据，触发器指纹覆盖触发规则。
+ * 指纹在创建 JobDetail 和 Trigger 时写入各自的 JobDataMap，重新调度时只比较指纹，
+ * 未变化的定义不产生任何写入。任务数据按键排序后取 String.valueOf，值类型应当有稳定的 toString。
+ */
+public class JobFingerprint {
+
+    /**
+     * 计算任务指纹。
+     *
+     * @param jobClass        任务类
+     * @param dataMap         任务数据，可以为 null
+     * @param quartzComponent 任务配置
+     * @return 十六进制 SHA-256 摘要
+     */
+    public static String ofJob(Class<? extends Job> jobClass, JobDataMap dataMap,
+            QuartzComponent quartzComponent) {
+        StringBuilder content = new StringBuilder()
+                .append(jobClass.getName()).append('\n')
+                .append(quartzComponent.getDescription()).append('\n')
+                .append(SchedulerCore.isRequestRecovery(jobClass, quartzComponent)).append('\n')
+                .append(quartzComponent.isDurability()).append('\n')
+                .append(quartzComponent.getTransactionMode()).append('\n')
+                .append(quartzComponent.getShardTotal()).append('\n')
+                .append(quartzComponent.getMaxConcurrency()).append('\n')
+                .append(quartzComponent.getConcurrencyScope()).append('\n')
+                .append(quartzComponent.getOverlapPolicy()).append('\n');
+        if (dataMap != null) {
+            Map<String, Object> sorted = new TreeMap<>(dataMap.getWrappedMap());
+            sorted.remove(QuartzSign.JOB_FINGERPRINT);
+            sorted.forEach((key, value) -> content.append(key).append('=')
+                    .append(value).append('\n'));
+        }
+        return digest(content);
+    }
+
+    /**
+     * 计算触发器指纹。
+     *
+     * @param quartzComponent 任务配置
+     * @return 十六进制 SHA-256 摘要
+     */
+    public static String ofTrigger(QuartzComponent quartzComponent) {
+        StringBuilder content = new StringBuilder()
+                .append("simple").append('\n')
+                .append(quartzComponent.getTimeEnum()).append('\n')
+                .append(quartzComponent.getTimeInterval()).append('\n');
+        // 默认策略不参与计算，已有触发器的指纹保持不变
+        if (quartzComponent.getMisfirePolicy() != MisfirePolicyEnum.SKIP) {
+            content.append(quartzComponent.getMisfirePolicy()).append('\n');
+        }
+        return digest(content);
+    }
+
+    private static String digest(CharSequence content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(
+                    messageDigest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new QuartzUtilityException("SHA-256 is not available", e,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+    }
+}
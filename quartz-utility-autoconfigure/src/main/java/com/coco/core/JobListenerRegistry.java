@@ -0,0 +1,195 @@
+package com.coco.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+
+/**
+ * CoQuartzScheduler 管理的任务监听器注册表。
+ * 注册表自身作为唯一的 JobListener 注册到调度器中，按 JobKey 和组名建立索引分发事件，
+ * 每次触发只做两次哈希查找，开销不随任务数量和监听器数量增长。
+ * 监听器按名称去重，同名监听器重复注册只会合并作用范围。
+ */
+public class JobListenerRegistry implements JobListener {
+
+    public static final String NAME = "CoQuartzJobListenerRegistry";
+
+    private static final JobListener[] EMPTY = new JobListener[0];
+
+    // 按名称保存的监听器及其作用范围，只在注册时加锁修改
+    private final Map<String, Registration> registrations = new LinkedHashMap<>();
+    // 分发索引，读取无锁，写入时整体替换数组
+    private final Map<JobKey, JobListener[]> jobKeyIndex = new ConcurrentHashMap<>();
+    private final Map<String, JobListener[]> groupIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 为指定任务注册监听器，同名监听器已存在时只增加作用范围。
+     *
+     * @param jobListener 任务监听器
+     * @param jobKey      监听的任务
+     * @return 是否新增了作用范围
+     */
+    public synchronized boolean addJobListener(JobListener jobListener, JobKey jobKey) {
+        Registration registration = getRegistration(jobListener);
+        if (!registration.jobKeys.add(jobKey)) {
+            return false;
+        }
+        rebuildJobKeyIndex(jobKey);
+        return true;
+    }
+
+    /**
+     * 为指定组的所有任务注册监听器，同名监听器已存在时只增加作用范围。
+     *
+     * @param jobListener 任务监听器
+     * @param group       监听的任务组
+     * @return 是否新增了作用范围
+     */
+    public synchronized boolean addJobListener(JobListener jobListener, String group) {
+        Registration registration = getRegistration(jobListener);
+        if (!registration.groups.add(group)) {
+            return false;
+        }
+        rebuildGroupIndex(group);
+        return true;
+    }
+
+    /**
+     * 按名称移除监听器及其全部作用范围。
+     *
+     * @param name 监听器名称
+     * @return 监听器是否存在
+     */
+    public synchronized boolean removeJobListener(String name) {
+        Registration registration = registrations.remove(name);
+        if (registration == null) {
+            return false;
+        }
+        registration.jobKeys.forEach(this::rebuildJobKeyIndex);
+        registration.groups.forEach(this::rebuildGroupIndex);
+        return true;
+    }
+
+    public synchronized JobListener getJobListener(String name) {
+        Registration registration = registrations.get(name);
+        return registration != null ? registration.jobListener : null;
+    }
+
+    private Registration getRegistration(JobListener jobListener) {
+        Registration registration = registrations.get(jobListener.getName());
+        if (registration == null) {
+            registration = new Registration(jobListener);
+            registrations.put(jobListener.getName(), registration);
+        } else if (registration.jobListener != jobListener) {
+            // 同名的新实例替换旧实例，作用范围保持不变
+            registration.jobListener = jobListener;
+            registration.jobKeys.forEach(this::rebuildJobKeyIndex);
+            registration.groups.forEach(this::rebuildGroupIndex);
+        }
+        return registration;
+    }
+
+    private void rebuildJobKeyIndex(JobKey jobKey) {
+        List<JobListener> listeners = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            if (registration.jobKeys.contains(jobKey)) {
+                listeners.add(registration.jobListener);
+            }
+        }
+        if (listeners.isEmpty()) {
+            jobKeyIndex.remove(jobKey);
+        } else {
+            jobKeyIndex.put(jobKey, listeners.toArray(EMPTY));
+        }
+    }
+
+    private void rebuildGroupIndex(String group) {
+        List<JobListener> listeners = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            if (registration.groups.contains(group)) {
+                listeners.add(registration.jobListener);
+            }
+        }
+        if (listeners.isEmpty()) {
+            groupIndex.remove(group);
+        } else {
+            groupIndex.put(group, listeners.toArray(EMPTY));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        JobListener[] byGroup = groupIndex.getOrDefault(jobKey.getGroup(), EMPTY);
+        for (JobListener jobListener : byGroup) {
+            jobListener.jobToBeExecuted(context);
+        }
+        for (JobListener jobListener : jobKeyIndex.getOrDefault(jobKey, EMPTY)) {
+            if (!contains(byGroup, jobListener)) {
+                jobListener.jobToBeExecuted(context);
+            }
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        JobListener[] byGroup = groupIndex.getOrDefault(jobKey.getGroup(), EMPTY);
+        for (JobListener jobListener : byGroup) {
+            jobListener.jobExecutionVetoed(context);
+        }
+        for (JobListener jobListener : jobKeyIndex.getOrDefault(jobKey, EMPTY)) {
+            if (!contains(byGroup, jobListener)) {
+                jobListener.jobExecutionVetoed(context);
+            }
+        }
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        JobListener[] byGroup = groupIndex.getOrDefault(jobKey.getGroup(), EMPTY);
+        for (JobListener jobListener : byGroup) {
+            jobListener.jobWasExecuted(context, jobException);
+        }
+        for (JobListener jobListener : jobKeyIndex.getOrDefault(jobKey, EMPTY)) {
+            if (!contains(byGroup, jobListener)) {
+                jobListener.jobWasExecuted(context, jobException);
+            }
+        }
+    }
+
+    // 同时按组和按任务注册的监听器只通知一次，数组很小，线性查找即可
+    private static boolean contains(JobListener[] listeners, JobListener jobListener) {
+        for (JobListener listener : listeners) {
+            if (listener == jobListener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Registration {
+
+        private JobListener jobListener;
+        private final Set<JobKey> jobKeys = new HashSet<>();
+        private final Set<String> groups = new HashSet<>();
+
+        private Registration(JobListener jobListener) {
+            this.jobListener = jobListener;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.coco.core;
+
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+import org.quartz.TriggerKey;
+
+/**
+ * 一个简单间隔任务的完整定义，参数与 CoQuartzScheduler.scheduleSimpleIntervalJob 相同，
+ * 用于 CoQuartzScheduler.scheduleAll 一次性对账大量任务。
+ */
+public class JobSpec {
+
+    // 任务类
+    private final Class<? extends Job> jobClass;
+    // 任务标识
+    private final JobKey jobKey;
+    // 触发器标识
+    private final TriggerKey triggerKey;
+    // 任务数据
+    private final JobDataMap jobDataMap;
+    // 任务监听器
+    private final JobListener jobListener;
+    // 任务调度配置
+    private final QuartzComponent quartzComponent;
+
+    public Class<? extends Job> getJobClass() {
+        return jobClass;
+    }
+
+    public JobKey getJobKey() {
+        return jobKey;
+    }
+
+    public TriggerKey getTriggerKey() {
+        return triggerKey;
+    }
+
+    public JobDataMap getJobDataMap() {
+        return jobDataMap;
+    }
+
+    public JobListener getJobListener() {
+        return jobListener;
+    }
+
+    public QuartzComponent getQuartzComponent() {
+        return quartzComponent;
+    }
+
+    private JobSpec(Builder builder) {
+        this.jobClass = builder.jobClass;
+        this.jobKey = builder.jobKey;
+        this.triggerKey = builder.triggerKey;
+        this.jobDataMap = builder.jobDataMap;
+        this.jobListener = builder.jobListener;
+        this.quartzComponent = builder.quartzComponent;
+    }
+
+    public static class Builder {
+
+        private Class<? extends Job> jobClass;
+        private JobKey jobKey = SchedulerCore.getDefaultJobKey();
+        private TriggerKey triggerKey = SchedulerCore.getDefaultTriggerKey();
+        private JobDataMap jobDataMap = null;
+        private JobListener jobListener = null;
+        private QuartzComponent quartzComponent = new QuartzComponent.Builder().build();
+
+        public Builder setJobClass(Class<? extends Job> jobClass) {
+            this.jobClass = jobClass;
+            return this;
+        }
+
+        public Builder setJobKey(JobKey jobKey) {
+            this.jobKey = jobKey;
+            return this;
+        }
+
+        public Builder setTriggerKey(TriggerKey triggerKey) {
+            this.triggerKey = triggerKey;
+            return this;
+        }
+
+        public Builder setJobDataMap(JobDataMap jobDataMap) {
+            this.jobDataMap = jobDataMap;
+            return this;
+        }
+
+        public Builder setJobListener(JobListener jobListener) {
+            this.jobListener = jobListener;
+            return this;
+        }
+
+        public Builder setQuartzComponent(QuartzComponent quartzComponent) {
+            this.quartzComponent = quartzComponent;
+            return this;
+        }
+
+        public JobSpec build() {
+            return new JobSpec(this);
+        }
+    }
+}
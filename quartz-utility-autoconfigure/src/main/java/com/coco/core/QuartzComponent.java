@@ -1,6 +1,12 @@
 package com.coco.core;
 
+import com.coco.enums.ConcurrencyScopeEnum;
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.enums.StartSpreadEnum;
 import com.coco.enums.TimeEnum;
+import com.coco.enums.TransactionModeEnum;
+import java.time.Duration;
 
 public class QuartzComponent {
 
@@ -14,6 +20,24 @@ public class QuartzComponent {
     private final TimeEnum timeEnum;
     // 任务持久化设置
     private final boolean durability;
+    // 事务模式，为 null 时使用任务类上的 QuartzTransaction 注解
+    private final TransactionModeEnum transactionMode;
+    // 新建触发器第一次触发时间的分散策略
+    private final StartSpreadEnum startSpread;
+    // HASH、RANDOM 策略的最大偏移，为 null 时为执行间隔
+    private final Duration startSpreadWindow;
+    // RATE_LIMIT 策略每秒最多启动的任务数
+    private final int startRateLimit;
+    // 分片任务每次触发拆分的分片数，只对 ShardedQuartzJob 生效
+    private final int shardTotal;
+    // 当前节点上的最大并发数，为 0 时 SKIP、QUEUE 策略按 1 处理
+    private final int maxConcurrency;
+    // 并发数的限制范围
+    private final ConcurrencyScopeEnum concurrencyScope;
+    // 达到并发上限时的处理策略
+    private final OverlapPolicyEnum overlapPolicy;
+    // 错过触发的处理策略
+    private final MisfirePolicyEnum misfirePolicy;
 
     public String getDescription() {
         return description;
@@ -35,12 +59,57 @@ public class QuartzComponent {
         return durability;
     }
 
+    public TransactionModeEnum getTransactionMode() {
+        return transactionMode;
+    }
+
+    public StartSpreadEnum getStartSpread() {
+        return startSpread;
+    }
+
+    public Duration getStartSpreadWindow() {
+        return startSpreadWindow;
+    }
+
+    public int getStartRateLimit() {
+        return startRateLimit;
+    }
+
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public ConcurrencyScopeEnum getConcurrencyScope() {
+        return concurrencyScope;
+    }
+
+    public OverlapPolicyEnum getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    public MisfirePolicyEnum getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
     private QuartzComponent(Builder builder) {
         this.timeInterval = builder.timeInterval;
         this.timeEnum = builder.timeEnum;
         this.description = builder.description;
         this.shouldRecover = builder.shouldRecover;
         this.durability = builder.durability;
+        this.transactionMode = builder.transactionMode;
+        this.startSpread = builder.startSpread;
+        this.startSpreadWindow = builder.startSpreadWindow;
+        this.startRateLimit = builder.startRateLimit;
+        this.shardTotal = builder.shardTotal;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.concurrencyScope = builder.concurrencyScope;
+        this.overlapPolicy = builder.overlapPolicy;
+        this.misfirePolicy = builder.misfirePolicy;
     }
 
     public static class Builder {
@@ -50,6 +119,15 @@ public class QuartzComponent {
         private String description = "Default description";
         private boolean shouldRecover = false;
         private boolean durability = true;
+        private TransactionModeEnum transactionMode = null;
+        private StartSpreadEnum startSpread = StartSpreadEnum.NONE;
+        private Duration startSpreadWindow = null;
+        private int startRateLimit = 10;
+        private int shardTotal = 1;
+        private int maxConcurrency = 0;
+        private ConcurrencyScopeEnum concurrencyScope = ConcurrencyScopeEnum.JOB;
+        private OverlapPolicyEnum overlapPolicy = OverlapPolicyEnum.RUN;
+        private MisfirePolicyEnum misfirePolicy = MisfirePolicyEnum.SKIP;
 
         public Builder setTimeInterval(int timeInterval) {
             this.timeInterval = timeInterval;
@@ -76,6 +154,51 @@ public class QuartzComponent {
             return this;
         }
 
+        public Builder setTransactionMode(TransactionModeEnum transactionMode) {
+            this.transactionMode = transactionMode;
+            return this;
+        }
+
+        public Builder setStartSpread(StartSpreadEnum startSpread) {
+            this.startSpread = startSpread;
+            return this;
+        }
+
+        public Builder setStartSpreadWindow(Duration startSpreadWindow) {
+            this.startSpreadWindow = startSpreadWindow;
+            return this;
+        }
+
+        public Builder setStartRateLimit(int startRateLimit) {
+            this.startRateLimit = startRateLimit;
+            return this;
+        }
+
+        public Builder setShardTotal(int shardTotal) {
+            this.shardTotal = shardTotal;
+            return this;
+        }
+
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder setConcurrencyScope(ConcurrencyScopeEnum concurrencyScope) {
+            this.concurrencyScope = concurrencyScope;
+            return this;
+        }
+
+        public Builder setOverlapPolicy(OverlapPolicyEnum overlapPolicy) {
+            this.overlapPolicy = overlapPolicy;
+            return this;
+        }
+
+        public Builder setMisfirePolicy(MisfirePolicyEnum misfirePolicy) {
+            this.misfirePolicy = misfirePolicy;
+            return this;
+        }
+
         public QuartzComponent build() {
             return new QuartzComponent(this);
         }
@@ -0,0 +1,448 @@
+package com.coco.core;
+
+import com.coco.annotation.QuartzRetry;
+import com.coco.annotation.QuartzTransaction;
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.enums.TransactionModeEnum;
+import com.coco.jfr.JobExecutionEvent;
+import com.coco.log.AsyncTaskLogWriter;
+import com.coco.log.JdbcTaskHistoryStore;
+import com.coco.log.TaskFailureRecorder;
+import com.coco.log.TaskLogRecord;
+import com.coco.log.TaskLogStore;
+import com.coco.metrics.TaskMetricsRecorder;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * BaseAbstractQuartzJob 和 AsyncQuartzJob 的公共基类：并发控制、日志、失败指纹、重试和下游任务触发。
+ * execute 按并发策略获取许可后交给 executeWithPermit，由子类决定任务体的执行方式并在执行结束后释放许可。
+ */
+abstract class QuartzJobSupport implements Job {
+
+    @Autowired
+    private TaskLogStore taskLogStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 开启异步日志时注入，否则为 null
+    @Autowired(required = false)
+    private AsyncTaskLogWriter asyncTaskLogWriter;
+
+    // 开启执行历史时注入，否则为 null
+    @Autowired(required = false)
+    private JdbcTaskHistoryStore taskHistoryStore;
+
+    // 存在 MeterRegistry 时注入，否则为 null
+    @Autowired(required = false)
+    private TaskMetricsRecorder taskMetricsRecorder;
+
+    // 开启失败指纹时注入，否则为 null
+    @Autowired(required = false)
+    private TaskFailureRecorder taskFailureRecorder;
+
+    // 并发控制，未注册时不限制并发
+    @Autowired(required = false)
+    private JobConcurrencyLimiter jobConcurrencyLimiter;
+
+    // 任务依赖，执行成功后触发下游任务；未注册时不触发
+    @Autowired(required = false)
+    private CoQuartzScheduler coQuartzScheduler;
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(QuartzJobSupport.class.getName());
+
+    /**
+     * 获取许可后执行本次触发，执行结束后必须释放许可；同步执行在返回前释放，异步执行在异步结果完成时释放。
+     *
+     * @param context 任务执行上下文
+     * @param permit  并发控制的许可
+     * @throws JobExecutionException 执行失败
+     */
+    abstract void executeWithPermit(JobExecutionContext context,
+            JobConcurrencyLimiter.Permit permit) throws JobExecutionException;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        if (jobConcurrencyLimiter == null) {
+            executeWithPermit(context, JobConcurrencyLimiter.UNLIMITED);
+            return;
+        }
+        JobConcurrencyLimiter.Permit permit = jobConcurrencyLimiter.tryAcquire(
+                context.getJobDetail());
+        if (permit == null) {
+            // 达到并发上限，SKIP 策略跳过本次触发，QUEUE 策略延迟重新触发
+            onConcurrencyLimitReached(context);
+            return;
+        }
+        executeWithPermit(context, permit);
+    }
+
+    /**
+     * 达到并发上限时的处理。QUEUE 策略下安排一个延迟触发的一次性触发器（组名 QUARTZ_QUEUE）后立即归还工作线程，
+     * 从第一次排队起超过排队超时仍未执行时跳过；SKIP 策略直接跳过。跳过时写入 EXEC_SKIPPED 日志。
+     *
+     * @param context 任务执行上下文
+     */
+    void onConcurrencyLimitReached(JobExecutionContext context) {
+        if (JobConcurrencyLimiter.getOverlapPolicy(context.getJobDetail())
+                != OverlapPolicyEnum.QUEUE) {
+            saveSkippedLog(context, "Skipped: concurrency limit reached");
+            return;
+        }
+        JobDataMap triggerDataMap = context.getTrigger().getJobDataMap();
+        long queuedAt = triggerDataMap.containsKey(QuartzSign.QUEUED_AT)
+                ? triggerDataMap.getLongValue(QuartzSign.QUEUED_AT)
+                : context.getFireTime().getTime();
+        int attempt = triggerDataMap.containsKey(QuartzSign.QUEUE_ATTEMPT)
+                ? triggerDataMap.getIntValue(QuartzSign.QUEUE_ATTEMPT) : 0;
+        long now = System.currentTimeMillis();
+        if (now - queuedAt >= jobConcurrencyLimiter.getQueueTimeout().toMillis()) {
+            saveSkippedLog(context, "Skipped: concurrency queue timeout");
+            return;
+        }
+        JobDataMap queueDataMap = getFollowUpDataMap(context);
+        queueDataMap.put(QuartzSign.QUEUED_AT, String.valueOf(queuedAt));
+        queueDataMap.put(QuartzSign.QUEUE_ATTEMPT, String.valueOf(attempt + 1));
+        Date startAt = new Date(now + jobConcurrencyLimiter.getQueueDelayMillis(attempt));
+        try {
+            context.getScheduler().scheduleJob(SchedulerCore.getOneShotTrigger(
+                    TriggerKey.triggerKey(UUID.randomUUID().toString(), QuartzSign.QUEUE_GROUP),
+                    context.getJobDetail().getKey(), queueDataMap, startAt));
+        } catch (SchedulerException e) {
+            logger.log(Level.SEVERE, "Schedule queued fire error: " + e.getMessage(), e);
+            saveSkippedLog(context, "Skipped: schedule queued fire error");
+        }
+    }
+
+    /**
+     * 写入一条跳过执行的日志。
+     *
+     * @param context      任务执行上下文
+     * @param errorMessage 跳过的原因
+     */
+    void saveSkippedLog(JobExecutionContext context, String errorMessage) {
+        long now = System.currentTimeMillis();
+        saveTaskLog(context, buildTaskLog(context, LogTaskExecStateEnum.EXEC_SKIPPED.getCode(),
+                errorMessage, now, now), TransactionModeEnum.NONE, null);
+    }
+
+    TaskLogRecord buildTaskLog(JobExecutionContext context, byte execState,
+            String errorMessage, long startTime, long endTime) {
+        return new TaskLogRecord.Builder()
+                .setJobKey(context.getJobDetail().getKey().toString())
+                .setTriggerKey(getOriginTriggerKey(context).toString())
+                .setExecState(execState)
+                .setErrorMessage(errorMessage)
+                .setExecuteTime(new Timestamp(endTime))
+                .setStartTime(new Timestamp(startTime))
+                .setEndTime(new Timestamp(endTime))
+                .setNodeId(getNodeId(context))
+                .setFireInstanceId(context.getFireInstanceId())
+                .build();
+    }
+
+    void saveTaskLog(JobExecutionContext context, TaskLogRecord record,
+            TransactionModeEnum transactionMode, TransactionStatus status) {
+        saveTaskLog(context, record, transactionMode, status, null);
+    }
+
+    void saveTaskLog(JobExecutionContext context, TaskLogRecord record,
+            TransactionModeEnum transactionMode, TransactionStatus status,
+            JobExecutionEvent event) {
+        TaskLogRecord processedRecord = processTaskLog(context, record);
+        boolean committed;
+        if (processedRecord == null) {
+            // 子类决定不写日志，只提交任务本身的事务
+            committed = commitQuietly(status, event);
+        } else if (asyncTaskLogWriter != null && asyncTaskLogWriter.write(processedRecord)) {
+            // 日志已交给后台线程批量写入，这里只提交任务本身的事务
+            if (event != null) {
+                event.setAsyncLog(true);
+            }
+            committed = commitQuietly(status, event);
+        } else {
+            committed = writeTaskLog(context.getJobDetail().getKey(), processedRecord,
+                    transactionMode, status, event);
+        }
+        // 事务提交成功之后再触发下游任务，下游任务能读到上游写入的数据；提交失败或回滚时不触发
+        if (committed && coQuartzScheduler != null && shouldTriggerDownstream(context, record)) {
+            try {
+                coQuartzScheduler.onJobSucceeded(context.getJobDetail().getKey());
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Trigger downstream jobs error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 本次执行结束后是否触发依赖该任务的下游任务，默认执行成功时触发。
+     *
+     * @param context 任务执行上下文
+     * @param record  本次执行的日志记录，processTaskLog 处理之前的原始记录
+     * @return 是否触发下游任务
+     */
+    protected boolean shouldTriggerDownstream(JobExecutionContext context, TaskLogRecord record) {
+        return record.getExecState() == LogTaskExecStateEnum.EXEC_SUCCESS.getCode();
+    }
+
+    /**
+     * 写日志前的扩展点，在任务体执行之后、日志写入之前调用。WRAP_JOB 模式下仍处于任务的事务中。
+     *
+     * @param context 任务执行上下文
+     * @param record  本次执行的日志记录
+     * @return 实际要写入的日志记录，返回 null 时不写日志
+     */
+    protected TaskLogRecord processTaskLog(JobExecutionContext context, TaskLogRecord record) {
+        return record;
+    }
+
+    /**
+     * 开启失败指纹时记录失败并返回指纹，否则返回异常信息。
+     */
+    String getErrorMessage(JobKey jobKey, Throwable e) {
+        if (taskFailureRecorder == null) {
+            return e.getMessage();
+        }
+        try {
+            return taskFailureRecorder.record(jobKey, e);
+        } catch (Exception recordException) {
+            logger.log(Level.SEVERE, "Record task failure error: " + recordException.getMessage(),
+                    recordException);
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * 获取本次执行的重试策略，默认读取任务类上的 QuartzRetry 注解。
+     *
+     * @param context 任务执行上下文
+     * @return 重试策略，为 null 时不重试
+     */
+    protected QuartzRetry getRetryPolicy(JobExecutionContext context) {
+        return getClass().getAnnotation(QuartzRetry.class);
+    }
+
+    /**
+     * 获取本次执行对应的原触发器标识，重试、续跑触发时返回第一次执行的触发器标识。
+     *
+     * @param context 任务执行上下文
+     * @return 原触发器标识
+     */
+    protected TriggerKey getOriginTriggerKey(JobExecutionContext context) {
+        JobDataMap triggerDataMap = context.getTrigger().getJobDataMap();
+        String originName = triggerDataMap.getString(QuartzSign.ORIGIN_TRIGGER_NAME);
+        if (originName == null) {
+            return context.getTrigger().getKey();
+        }
+        return TriggerKey.triggerKey(originName,
+                triggerDataMap.getString(QuartzSign.ORIGIN_TRIGGER_GROUP));
+    }
+
+    /**
+     * 创建后续一次性触发器（重试、续跑）的 JobDataMap：复制本次触发器的数据，并记录原触发器的名称和组名。
+     *
+     * @param context 任务执行上下文
+     * @return 新的 JobDataMap
+     */
+    protected JobDataMap getFollowUpDataMap(JobExecutionContext context) {
+        JobDataMap dataMap = new JobDataMap(context.getTrigger().getJobDataMap().getWrappedMap());
+        // 排队状态只属于本次触发，需要时由调用方重新设置
+        dataMap.remove(QuartzSign.QUEUED_AT);
+        dataMap.remove(QuartzSign.QUEUE_ATTEMPT);
+        TriggerKey originTriggerKey = getOriginTriggerKey(context);
+        dataMap.put(QuartzSign.ORIGIN_TRIGGER_NAME, originTriggerKey.getName());
+        dataMap.put(QuartzSign.ORIGIN_TRIGGER_GROUP, originTriggerKey.getGroup());
+        return dataMap;
+    }
+
+    /**
+     * 按重试策略安排一个只触发一次的重试触发器，触发器携带原触发器的数据、尝试次数和原触发器标识。
+     */
+    void scheduleRetry(JobExecutionContext context, Throwable e) {
+        QuartzRetry retry = getRetryPolicy(context);
+        if (retry == null || !isRetryable(retry, e)) {
+            return;
+        }
+        JobDataMap triggerDataMap = context.getTrigger().getJobDataMap();
+        int attempt = triggerDataMap.containsKey(QuartzSign.RETRY_ATTEMPT)
+                ? triggerDataMap.getIntValue(QuartzSign.RETRY_ATTEMPT) : 1;
+        if (attempt >= retry.maxAttempts()) {
+            return;
+        }
+        JobDataMap retryDataMap = getFollowUpDataMap(context);
+        retryDataMap.put(QuartzSign.RETRY_ATTEMPT, String.valueOf(attempt + 1));
+        Date startAt = new Date(System.currentTimeMillis() + getRetryDelay(retry, attempt));
+        try {
+            context.getScheduler().scheduleJob(SchedulerCore.getOneShotTrigger(
+                    TriggerKey.triggerKey(UUID.randomUUID().toString(), QuartzSign.RETRY_GROUP),
+                    context.getJobDetail().getKey(), retryDataMap, startAt));
+        } catch (SchedulerException schedulerException) {
+            logger.log(Level.SEVERE, "Schedule retry error: " + schedulerException.getMessage(),
+                    schedulerException);
+        }
+    }
+
+    private static boolean isRetryable(QuartzRetry retry, Throwable e) {
+        for (Class<? extends Throwable> type : retry.noRetryFor()) {
+            if (type.isInstance(e)) {
+                return false;
+            }
+        }
+        for (Class<? extends Throwable> type : retry.retryFor()) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算第 attempt 次执行失败后的重试延迟：initialDelay * multiplier^(attempt - 1)，不超过 maxDelay，再加上随机抖动。
+     */
+    private static long getRetryDelay(QuartzRetry retry, int attempt) {
+        double delay = Math.min(retry.initialDelay() * Math.pow(retry.multiplier(), attempt - 1),
+                retry.maxDelay());
+        double jitter = Math.min(Math.max(retry.jitter(), 0), 1);
+        if (jitter > 0) {
+            delay *= 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        }
+        return Math.max((long) delay, 0);
+    }
+
+    JobConcurrencyLimiter getJobConcurrencyLimiter() {
+        return jobConcurrencyLimiter;
+    }
+
+    PlatformTransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    TaskLogStore getTaskLogStore() {
+        return taskLogStore;
+    }
+
+    /**
+     * 提交任务本身的事务，提交失败只记录日志。
+     *
+     * @return 事务是否提交成功，没有事务时返回 true
+     */
+    private boolean commitQuietly(TransactionStatus status, JobExecutionEvent event) {
+        if (status == null) {
+            return true;
+        }
+        long commitStart = System.nanoTime();
+        boolean committed = commit(status);
+        if (event != null) {
+            event.setCommit(System.nanoTime() - commitStart);
+        }
+        return committed;
+    }
+
+    /**
+     * 提交事务。标记为仅回滚的事务在 commit 时会被回滚，同样视为提交失败。
+     */
+    private boolean commit(TransactionStatus status) {
+        try {
+            boolean rollbackOnly = status.isRollbackOnly();
+            transactionManager.commit(status);
+            return !rollbackOnly;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Transaction commit error: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 写入任务日志和执行历史，并提交事务。
+     *
+     * @return 日志是否写入且事务提交成功
+     */
+    private boolean writeTaskLog(JobKey jobKey, TaskLogRecord record,
+            TransactionModeEnum transactionMode, TransactionStatus status,
+            JobExecutionEvent event) {
+        long writeStart = System.nanoTime();
+        if (transactionMode == TransactionModeEnum.LOG_ONLY) {
+            // 只包裹日志写入的短事务
+            status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        }
+        long phaseStart = System.nanoTime();
+        if (event != null) {
+            event.addTransactionAcquire(phaseStart - writeStart);
+        }
+        try {
+            // 单条 upsert 写入LOG数据
+            taskLogStore.save(record);
+            // 追加执行历史
+            if (taskHistoryStore != null) {
+                taskHistoryStore.append(record);
+            }
+            long commitStart = System.nanoTime();
+            if (event != null) {
+                event.setLogWrite(commitStart - phaseStart);
+            }
+            // 提交事务
+            boolean committed = true;
+            if (status != null) {
+                committed = !status.isRollbackOnly();
+                transactionManager.commit(status);
+            }
+            if (event != null) {
+                event.setCommit(System.nanoTime() - commitStart);
+            }
+            if (taskMetricsRecorder != null) {
+                taskMetricsRecorder.recordLogWrite(jobKey, System.nanoTime() - writeStart);
+            }
+            return committed;
+        } catch (Exception e) {
+            // 回滚
+            if (status != null && !status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+            logger.log(Level.SEVERE, "Write task log error: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private String getNodeId(JobExecutionContext context) {
+        try {
+            return context.getScheduler().getSchedulerInstanceId();
+        } catch (SchedulerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取任务的事务模式，优先使用 QuartzComponent 中的设置，其次是任务类上的 QuartzTransaction 注解。
+     *
+     * @param context 任务执行上下文
+     * @return 事务模式，都未设置时返回 WRAP_JOB
+     */
+    protected TransactionModeEnum getTransactionMode(JobExecutionContext context) {
+        String transactionMode = context.getJobDetail().getJobDataMap()
+                .getString(QuartzSign.TRANSACTION_MODE);
+        if (transactionMode != null) {
+            return TransactionModeEnum.valueOf(transactionMode);
+        }
+        QuartzTransaction annotation = getClass().getAnnotation(QuartzTransaction.class);
+        return annotation != null ? annotation.value() : TransactionModeEnum.WRAP_JOB;
+    }
+
+}
@@ -4,4 +4,36 @@ public class QuartzSign {
     public static final String GROUP = "DEFAULT";
     public static final String JOB_KEY_PREFIX = "JOB_";
     public static final String TRIGGER_KEY_PREFIX = "TRIGGER_";
+    // JobDataMap 中保存事务模式的键
+    public static final String TRANSACTION_MODE = "QUARTZ_TRANSACTION_MODE";
+    // JobDetail 和 Trigger 的 JobDataMap 中保存定义指纹的键
+    public static final String JOB_FINGERPRINT = "QUARTZ_JOB_FINGERPRINT";
+    public static final String TRIGGER_FINGERPRINT = "QUARTZ_TRIGGER_FINGERPRINT";
+    // JobDataMap 中保存并发控制配置的键
+    public static final String MAX_CONCURRENCY = "QUARTZ_MAX_CONCURRENCY";
+    public static final String CONCURRENCY_SCOPE = "QUARTZ_CONCURRENCY_SCOPE";
+    public static final String OVERLAP_POLICY = "QUARTZ_OVERLAP_POLICY";
+    // 分片任务：分片触发器所在的组，以及 JobDataMap 中的分片总数、分片序号和本次分片执行的标识
+    public static final String SHARD_GROUP = "QUARTZ_SHARD";
+    public static final String SHARD_TOTAL = "QUARTZ_SHARD_TOTAL";
+    public static final String SHARD_INDEX = "QUARTZ_SHARD_INDEX";
+    public static final String SHARD_RUN_ID = "QUARTZ_SHARD_RUN_ID";
+    // 重试、分段续跑等一次性触发器的 JobDataMap 中保存原触发器名称、组名的键，日志使用原触发器的标识
+    public static final String ORIGIN_TRIGGER_NAME = "QUARTZ_ORIGIN_TRIGGER_NAME";
+    public static final String ORIGIN_TRIGGER_GROUP = "QUARTZ_ORIGIN_TRIGGER_GROUP";
+    // 重试任务：重试触发器所在的组，以及触发器 JobDataMap 中保存尝试次数的键
+    public static final String RETRY_GROUP = "QUARTZ_RETRY";
+    public static final String RETRY_ATTEMPT = "QUARTZ_RETRY_ATTEMPT";
+    // 分段任务：续跑触发器所在的组，以及触发器 JobDataMap 中保存本轮执行标识的键
+    public static final String CHUNK_GROUP = "QUARTZ_CHUNK";
+    public static final String CHUNK_RUN_ID = "QUARTZ_CHUNK_RUN_ID";
+    // 并发控制：QUEUE 策略延迟重新触发的一次性触发器所在的组，以及触发器 JobDataMap 中保存第一次排队时间和已排队次数的键
+    public static final String QUEUE_GROUP = "QUARTZ_QUEUE";
+    public static final String QUEUED_AT = "QUARTZ_QUEUED_AT";
+    public static final String QUEUE_ATTEMPT = "QUARTZ_QUEUE_ATTEMPT";
+    // 任务依赖：触发下游任务的一次性触发器所在的组、记录上游完成的标记触发器所在的组，
+    // 以及触发器 JobDataMap 中保存触发本次执行的上游任务的键
+    public static final String CHAIN_GROUP = "QUARTZ_CHAIN";
+    public static final String CHAIN_JOIN_GROUP = "QUARTZ_CHAIN_JOIN";
+    public static final String CHAIN_UPSTREAM = "QUARTZ_CHAIN_UPSTREAM";
 }
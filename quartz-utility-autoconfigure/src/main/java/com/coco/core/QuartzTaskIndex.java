@@ -0,0 +1,150 @@
+package com.coco.core;
+
+import com.coco.enums.ConcurrencyScopeEnum;
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.enums.StartSpreadEnum;
+import com.coco.enums.TimeEnum;
+import com.coco.exception.QuartzUtilityException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.quartz.Job;
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 读取编译时生成的 @QuartzTask 任务索引。
+ * 索引为 properties 格式，每个任务类一个以类名为键的条目，注解中显式设置的属性保存为“类名#属性名”，
+ * 未设置的属性使用 QuartzComponent.Builder 的默认值。每个 jar 各自生成一个索引，读取时合并类路径上的所有索引。
+ */
+public final class QuartzTaskIndex {
+
+    // 索引文件在类路径中的位置
+    public static final String INDEX_LOCATION = "META-INF/quartz-utility/tasks.index";
+
+    // 类名与属性名之间的分隔符
+    private static final char ATTRIBUTE_SEPARATOR = '#';
+
+    private QuartzTaskIndex() {
+    }
+
+    /**
+     * 读取类路径上所有索引中的任务类名。
+     *
+     * @param classLoader 类加载器
+     * @return 任务类名
+     */
+    public static List<String> loadClassNames(ClassLoader classLoader) {
+        return new ArrayList<>(loadEntries(classLoader).keySet());
+    }
+
+    /**
+     * 读取类路径上所有索引并转换为任务定义。
+     *
+     * @param classLoader 类加载器
+     * @return 任务定义，没有索引时为空
+     */
+    public static List<JobSpec> load(ClassLoader classLoader) {
+        List<JobSpec> jobSpecs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> entry : loadEntries(classLoader).entrySet()) {
+            jobSpecs.add(toJobSpec(entry.getKey(), entry.getValue(), classLoader));
+        }
+        return jobSpecs;
+    }
+
+    private static Map<String, Map<String, String>> loadEntries(ClassLoader classLoader) {
+        Map<String, Map<String, String>> entries = new LinkedHashMap<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                Properties properties = new Properties();
+                try (InputStream inputStream = urls.nextElement().openStream()) {
+                    properties.load(inputStream);
+                }
+                for (String key : properties.stringPropertyNames()) {
+                    int separator = key.indexOf(ATTRIBUTE_SEPARATOR);
+                    String className = separator < 0 ? key : key.substring(0, separator);
+                    Map<String, String> attributes = entries.computeIfAbsent(className,
+                            name -> new LinkedHashMap<>());
+                    if (separator >= 0) {
+                        attributes.put(key.substring(separator + 1), properties.getProperty(key));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new QuartzUtilityException("Read task index error: " + e.getMessage(), e,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+        return entries;
+    }
+
+    private static JobSpec toJobSpec(String className, Map<String, String> attributes,
+            ClassLoader classLoader) {
+        Class<?> jobClass;
+        try {
+            jobClass = ClassUtils.forName(className, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new QuartzUtilityException("Task class in index not found: " + className, e,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+        if (!Job.class.isAssignableFrom(jobClass)) {
+            throw new QuartzUtilityException("Task class does not implement Job: " + className,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+        try {
+            String name = attributes.getOrDefault("name", jobClass.getSimpleName());
+            String group = attributes.getOrDefault("group", QuartzSign.GROUP);
+            QuartzComponent.Builder builder = new QuartzComponent.Builder();
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                applyAttribute(builder, attribute.getKey(), attribute.getValue());
+            }
+            return new JobSpec.Builder()
+                    .setJobClass(jobClass.asSubclass(Job.class))
+                    .setJobKey(JobKey.jobKey(name, group))
+                    .setTriggerKey(TriggerKey.triggerKey(
+                            attributes.getOrDefault("triggerName", name),
+                            attributes.getOrDefault("triggerGroup", group)))
+                    .setQuartzComponent(builder.build())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new QuartzUtilityException("Invalid task index entry " + className + ": "
+                    + e.getMessage(), e, QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+    }
+
+    private static void applyAttribute(QuartzComponent.Builder builder, String attribute,
+            String value) {
+        switch (attribute) {
+            case "name", "group", "triggerName", "triggerGroup" -> {
+                // 在 toJobSpec 中处理
+            }
+            case "description" -> builder.setDescription(value);
+            case "timeInterval" -> builder.setTimeInterval(Integer.parseInt(value));
+            case "timeEnum" -> builder.setTimeEnum(TimeEnum.valueOf(value));
+            case "shouldRecover" -> builder.setShouldRecover(Boolean.parseBoolean(value));
+            case "durability" -> builder.setDurability(Boolean.parseBoolean(value));
+            case "startSpread" -> builder.setStartSpread(StartSpreadEnum.valueOf(value));
+            case "startSpreadWindow" -> {
+                long millis = Long.parseLong(value);
+                builder.setStartSpreadWindow(millis > 0 ? Duration.ofMillis(millis) : null);
+            }
+            case "startRateLimit" -> builder.setStartRateLimit(Integer.parseInt(value));
+            case "shardTotal" -> builder.setShardTotal(Integer.parseInt(value));
+            case "maxConcurrency" -> builder.setMaxConcurrency(Integer.parseInt(value));
+            case "concurrencyScope" ->
+                    builder.setConcurrencyScope(ConcurrencyScopeEnum.valueOf(value));
+            case "overlapPolicy" -> builder.setOverlapPolicy(OverlapPolicyEnum.valueOf(value));
+            case "misfirePolicy" -> builder.setMisfirePolicy(MisfirePolicyEnum.valueOf(value));
+            default -> throw new IllegalArgumentException("unknown attribute " + attribute);
+        }
+    }
+}
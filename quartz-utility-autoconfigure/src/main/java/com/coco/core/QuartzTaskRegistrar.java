@@ -0,0 +1,43 @@
+package com.coco.core;
+
+import com.coco.exception.QuartzUtilityException;
+import java.util.List;
+import java.util.logging.Logger;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * 启动时读取 @QuartzTask 任务索引，通过一次 scheduleAll 对账注册所有任务。
+ * 索引在编译时生成，启动时只读取类路径上的索引文件并加载其中列出的任务类，不扫描类路径。
+ */
+public class QuartzTaskRegistrar implements SmartInitializingSingleton {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(QuartzTaskRegistrar.class.getName());
+
+    private final CoQuartzScheduler coQuartzScheduler;
+    private final ClassLoader classLoader;
+    private final boolean prune;
+
+    public QuartzTaskRegistrar(CoQuartzScheduler coQuartzScheduler, ClassLoader classLoader,
+            boolean prune) {
+        this.coQuartzScheduler = coQuartzScheduler;
+        this.classLoader = classLoader;
+        this.prune = prune;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<JobSpec> jobSpecs = QuartzTaskIndex.load(classLoader);
+        if (jobSpecs.isEmpty()) {
+            return;
+        }
+        try {
+            ScheduleReport report = coQuartzScheduler.scheduleAll(jobSpecs, prune);
+            logger.info("Registered " + jobSpecs.size() + " indexed tasks: " + report);
+        } catch (SchedulerException e) {
+            throw new QuartzUtilityException("Register indexed tasks error: " + e.getMessage(), e,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.coco.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+
+/**
+ * CoQuartzScheduler.scheduleAll 的对账结果。
+ */
+public class ScheduleReport {
+
+    // 新增的任务
+    private final List<JobKey> added = new ArrayList<>();
+    // 配置变化后重新调度的任务
+    private final List<JobKey> changed = new ArrayList<>();
+    // 配置未变化的任务
+    private final List<JobKey> unchanged = new ArrayList<>();
+    // 删除的任务
+    private final List<JobKey> removedJobs = new ArrayList<>();
+    // 删除的触发器
+    private final List<TriggerKey> removedTriggers = new ArrayList<>();
+
+    public List<JobKey> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    public List<JobKey> getChanged() {
+        return Collections.unmodifiableList(changed);
+    }
+
+    public List<JobKey> getUnchanged() {
+        return Collections.unmodifiableList(unchanged);
+    }
+
+    public List<JobKey> getRemovedJobs() {
+        return Collections.unmodifiableList(removedJobs);
+    }
+
+    public List<TriggerKey> getRemovedTriggers() {
+        return Collections.unmodifiableList(removedTriggers);
+    }
+
+    void addAdded(JobKey jobKey) {
+        added.add(jobKey);
+    }
+
+    void addChanged(JobKey jobKey) {
+        changed.add(jobKey);
+    }
+
+    void addUnchanged(JobKey jobKey) {
+        unchanged.add(jobKey);
+    }
+
+    void addRemovedJob(JobKey jobKey) {
+        removedJobs.add(jobKey);
+    }
+
+    void addRemovedTrigger(TriggerKey triggerKey) {
+        removedTriggers.add(triggerKey);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleReport{added=" + added.size() + ", changed=" + changed.size()
+                + ", unchanged=" + unchanged.size() + ", removedJobs=" + removedJobs.size()
+                + ", removedTriggers=" + removedTriggers.size() + "}";
+    }
+}
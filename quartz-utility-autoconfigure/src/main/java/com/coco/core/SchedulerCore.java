@@ -1,11 +1,16 @@
 package com.coco.core;
 
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.exception.QuartzUtilityException;
+import java.util.Date;
 import org.quartz.Job;
 import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
 import org.quartz.SimpleScheduleBuilder;
+import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 import org.quartz.TriggerKey;
@@ -40,16 +45,51 @@ public class SchedulerCore {
                 .withDescription(quartzComponent.getDescription())
                 // 设置任务是否请求恢复。如果设置为 true，当 Quartz 节点在任务执行过程中发生故障并重启后，
                 // 该任务会被重新执行（前提是任务实现了 StatefulJob 接口或有相应的恢复逻辑）。
-                .requestRecovery(quartzComponent.isShouldRecover())
+                .requestRecovery(isRequestRecovery(jobClass, quartzComponent))
                 // 设置任务是否持久化存储。如果设置为 true，即使没有 Trigger 关联该任务，任务也会保留在 Quartz 中，
                 // 直到显式地删除它。这对于一些长期运行的任务或需要在特定条件下手动触发的任务很有用。
                 .storeDurably(quartzComponent.isDurability());
         if (dataMap != null) {
             jobBuilder.usingJobData(dataMap);
         }
+        // 设置任务的事务模式，执行时由 BaseAbstractQuartzJob 读取
+        if (quartzComponent.getTransactionMode() != null) {
+            jobBuilder.usingJobData(QuartzSign.TRANSACTION_MODE,
+                    quartzComponent.getTransactionMode().name());
+        }
+        // 设置分片任务的分片数，执行时由 ShardedQuartzJob 读取
+        if (quartzComponent.getShardTotal() > 1) {
+            jobBuilder.usingJobData(QuartzSign.SHARD_TOTAL,
+                    String.valueOf(quartzComponent.getShardTotal()));
+        }
+        // 设置并发控制，执行时由 BaseAbstractQuartzJob 读取
+        if (quartzComponent.getOverlapPolicy() != OverlapPolicyEnum.RUN) {
+            jobBuilder.usingJobData(QuartzSign.MAX_CONCURRENCY,
+                    String.valueOf(quartzComponent.getMaxConcurrency()));
+            jobBuilder.usingJobData(QuartzSign.CONCURRENCY_SCOPE,
+                    quartzComponent.getConcurrencyScope().name());
+            jobBuilder.usingJobData(QuartzSign.OVERLAP_POLICY,
+                    quartzComponent.getOverlapPolicy().name());
+        }
+        // 保存任务定义指纹，重新调度时用于判断任务是否变化
+        jobBuilder.usingJobData(QuartzSign.JOB_FINGERPRINT,
+                JobFingerprint.ofJob(jobClass, dataMap, quartzComponent));
         return jobBuilder.build();
     }
 
+    /**
+     * 判断任务是否请求恢复。分片任务总是请求恢复，执行分片的节点宕机后分片由其他节点按原分片数据重新执行。
+     *
+     * @param jobClass        任务类
+     * @param quartzComponent 任务配置
+     * @return 是否请求恢复
+     */
+    public static boolean isRequestRecovery(Class<? extends Job> jobClass,
+            QuartzComponent quartzComponent) {
+        return quartzComponent.isShouldRecover()
+                || ShardedQuartzJob.class.isAssignableFrom(jobClass);
+    }
+
     /**
      * 创建一个立即触发且仅触发一次的触发器。
      *
@@ -63,6 +103,105 @@ public class SchedulerCore {
                 .build();
     }
 
+    /**
+     * 创建一个在指定时间触发且仅触发一次的触发器，关联到已存在的任务上。
+     *
+     * @param triggerKey 触发器的唯一标识。
+     * @param jobKey     触发的任务。
+     * @param dataMap    触发器携带的数据，执行时合并到 MergedJobDataMap 中。可以为 null。
+     * @param startAt    触发时间。
+     * @return 返回一个仅触发一次的Trigger对象。
+     */
+    public static Trigger getOneShotTrigger(TriggerKey triggerKey, JobKey jobKey,
+            JobDataMap dataMap, Date startAt) {
+        TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
+                .withIdentity(triggerKey)
+                .forJob(jobKey)
+                .startAt(startAt);
+        if (dataMap != null) {
+            triggerBuilder.usingJobData(dataMap);
+        }
+        return triggerBuilder.build();
+    }
+
+    /**
+     * 根据 QuartzComponent 中的时间单位和间隔获取一个无限循环触发的触发器。
+     *
+     * @param triggerKey 触发器的唯一标识，由触发器名称和所属组名组成，用于在Quartz中唯一标识该触发器。
+     * @param quartzComponent 包含时间间隔、时间单位等配置的组件。
+     * @return 返回一个按指定间隔无限循环触发的Trigger对象。
+     */
+    public static Trigger getSimpleTrigger(TriggerKey triggerKey, QuartzComponent quartzComponent) {
+        Trigger trigger = switch (quartzComponent.getTimeEnum()) {
+            case HOURS -> getHoursSimpleTrigger(triggerKey, quartzComponent.getTimeInterval());
+            case MINUTES -> getMinuteSimpleTrigger(triggerKey, quartzComponent.getTimeInterval());
+            case SECONDS -> getSecondsSimpleTrigger(triggerKey, quartzComponent.getTimeInterval());
+            case MILLISECONDS -> getMillisecondsSimpleTrigger(triggerKey,
+                    quartzComponent.getTimeInterval());
+            default -> throw new QuartzUtilityException("The interval type is abnormal",
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        };
+        // 保存触发器指纹，重新调度时用于判断触发规则是否变化
+        SimpleTrigger simpleTrigger = (SimpleTrigger) trigger;
+        TriggerBuilder<SimpleTrigger> triggerBuilder = simpleTrigger.getTriggerBuilder()
+                .usingJobData(QuartzSign.TRIGGER_FINGERPRINT,
+                        JobFingerprint.ofTrigger(quartzComponent));
+        if (quartzComponent.getMisfirePolicy() != MisfirePolicyEnum.SKIP) {
+            triggerBuilder = triggerBuilder.withSchedule(getMisfireScheduleBuilder(
+                    (SimpleScheduleBuilder) simpleTrigger.getScheduleBuilder(),
+                    quartzComponent.getMisfirePolicy()));
+        }
+        return triggerBuilder.build();
+    }
+
+    /**
+     * 按 MisfirePolicyEnum 设置错过触发的处理策略。
+     *
+     * @param scheduleBuilder 触发器的调度规则
+     * @param misfirePolicy   错过触发的处理策略
+     * @return 设置了处理策略的调度规则
+     */
+    private static SimpleScheduleBuilder getMisfireScheduleBuilder(
+            SimpleScheduleBuilder scheduleBuilder, MisfirePolicyEnum misfirePolicy) {
+        return switch (misfirePolicy) {
+            case SKIP -> scheduleBuilder.withMisfireHandlingInstructionNextWithRemainingCount();
+            case FIRE_NOW -> scheduleBuilder.withMisfireHandlingInstructionNowWithExistingCount();
+            case IGNORE -> scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+        };
+    }
+
+    /**
+     * 根据 QuartzComponent 获取一个从指定时间开始无限循环触发的触发器，用于重新调度时保留原有的触发节奏。
+     *
+     * @param triggerKey 触发器的唯一标识。
+     * @param quartzComponent 包含时间间隔、时间单位等配置的组件。
+     * @param startAt 第一次触发的时间。
+     * @return 返回一个从 startAt 开始按指定间隔无限循环触发的Trigger对象。
+     */
+    public static Trigger getSimpleTrigger(TriggerKey triggerKey, QuartzComponent quartzComponent,
+            Date startAt) {
+        return getSimpleTrigger(triggerKey, quartzComponent).getTriggerBuilder()
+                .startAt(startAt)
+                .build();
+    }
+
+    /**
+     * 获取 QuartzComponent 对应的执行间隔。
+     *
+     * @param quartzComponent 包含时间间隔、时间单位等配置的组件。
+     * @return 执行间隔，单位毫秒。
+     */
+    public static long getIntervalMillis(QuartzComponent quartzComponent) {
+        return switch (quartzComponent.getTimeEnum()) {
+            case HOURS -> quartzComponent.getTimeInterval() * 60L * 60 * 1000;
+            case MINUTES -> quartzComponent.getTimeInterval() * 60L * 1000;
+            case SECONDS -> quartzComponent.getTimeInterval() * 1000L;
+            case MILLISECONDS -> quartzComponent.getTimeInterval();
+            default -> throw new QuartzUtilityException("The interval type is abnormal",
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        };
+    }
+
     /**
      * 获取一个按指定分钟间隔重复触发的触发器。
      *
@@ -112,6 +251,27 @@ public class SchedulerCore {
                 .build();
     }
 
+    /**
+     * 获取一个按指定毫秒间隔重复触发的触发器，用于亚秒级的高频任务。
+     *
+     * @param triggerKey 触发器的唯一标识，由触发器名称和所属组名组成，用于在Quartz中唯一标识该触发器。
+     * @param timeInterval 触发器触发的时间间隔，单位为毫秒。
+     * @return 返回一个按指定毫秒间隔无限循环触发的Trigger对象。
+     */
+    public static Trigger getMillisecondsSimpleTrigger(TriggerKey triggerKey, int timeInterval) {
+        SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder.simpleSchedule()
+                .withIntervalInMilliseconds(timeInterval)
+                // 配置触发器无限循环触发
+                .repeatForever()
+                // 配置错过触发的处理策略：保持剩余触发次数，跳过错过的触发器
+                .withMisfireHandlingInstructionNextWithRemainingCount();
+        return TriggerBuilder.newTrigger()
+                .withIdentity(triggerKey)
+                .startNow()
+                .withSchedule(scheduleBuilder)
+                .build();
+    }
+
     /**
      * 获取触发器的TriggerKey，使用默认的组名和前缀加上传入的任务名称来构建TriggerKey。
      * *
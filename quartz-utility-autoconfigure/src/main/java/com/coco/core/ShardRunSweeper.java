@@ -0,0 +1,163 @@
+package com.coco.core;
+
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.log.JdbcTaskHistoryStore;
+import com.coco.log.JdbcTaskShardStore;
+import com.coco.log.TaskLogRecord;
+import com.coco.log.TaskLogStore;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 分片执行超时清理器。
+ * 发起分片后部分分片触发器安排失败、执行分片的节点宕机或分片触发器丢失时，quartz_task_shard 中的状态行永远不会完成。
+ * 后台线程按固定间隔查找发起时间超过 runTimeout 仍未完成的分片执行，删除状态行并以发起时的 trigger 标识写入一条失败的汇总日志。
+ * 删除状态行和写入日志在同一个事务中，多个节点同时清理同一次执行时只有一个节点会写入日志；之后完成的分片不再计入，也不写日志。
+ * runTimeout 应当大于分片任务最长的正常执行时间。
+ */
+public class ShardRunSweeper implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(ShardRunSweeper.class.getName());
+
+    private final JdbcTaskShardStore taskShardStore;
+    private final TaskLogStore taskLogStore;
+    private final JdbcTaskHistoryStore taskHistoryStore;
+    private final Scheduler scheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration runTimeout;
+    private final Duration sweepInterval;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param taskShardStore     分片执行状态存储
+     * @param taskLogStore       任务日志存储
+     * @param taskHistoryStore   执行历史存储，未开启执行历史时为 null
+     * @param scheduler          调度器，用于获取写入日志的节点标识
+     * @param transactionManager 事务管理器
+     * @param runTimeout         分片执行的超时时间
+     * @param sweepInterval      清理间隔
+     */
+    public ShardRunSweeper(JdbcTaskShardStore taskShardStore, TaskLogStore taskLogStore,
+            JdbcTaskHistoryStore taskHistoryStore, Scheduler scheduler,
+            PlatformTransactionManager transactionManager, Duration runTimeout,
+            Duration sweepInterval) {
+        this.taskShardStore = taskShardStore;
+        this.taskLogStore = taskLogStore;
+        this.taskHistoryStore = taskHistoryStore;
+        this.scheduler = scheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.runTimeout = runTimeout;
+        this.sweepInterval = sweepInterval;
+    }
+
+    /**
+     * 结束所有超时的分片执行。
+     *
+     * @return 由本节点结束的分片执行数
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        List<String> runIds = taskShardStore.findStale(new Timestamp(now - runTimeout.toMillis()));
+        int expired = 0;
+        for (String runId : runIds) {
+            if (!running && executor != null) {
+                break;
+            }
+            Boolean result = transactionTemplate.execute(status -> {
+                JdbcTaskShardStore.ShardRun shardRun = taskShardStore.expire(runId);
+                if (shardRun == null) {
+                    // 已经完成或已被其他节点结束
+                    return false;
+                }
+                TaskLogRecord record = buildTaskLog(shardRun);
+                taskLogStore.save(record);
+                if (taskHistoryStore != null) {
+                    taskHistoryStore.append(record);
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(result)) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    private TaskLogRecord buildTaskLog(JdbcTaskShardStore.ShardRun shardRun) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String errorMessage = "Shard run timed out after " + runTimeout + ": "
+                + shardRun.getCompleted() + "/" + shardRun.getShardTotal() + " shards completed";
+        if (shardRun.getErrorMessage() != null) {
+            errorMessage += ", first error: " + shardRun.getErrorMessage();
+        }
+        return new TaskLogRecord.Builder()
+                .setJobKey(shardRun.getJobKey())
+                .setTriggerKey(shardRun.getTriggerKey())
+                .setExecState(LogTaskExecStateEnum.EXEC_FAIL.getCode())
+                .setErrorMessage(errorMessage)
+                .setExecuteTime(now)
+                .setStartTime(shardRun.getStartTime())
+                .setEndTime(now)
+                .setNodeId(getNodeId())
+                .setFireInstanceId(shardRun.getRunId())
+                .build();
+    }
+
+    private String getNodeId() {
+        try {
+            return scheduler.getSchedulerInstanceId();
+        } catch (SchedulerException e) {
+            return null;
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            int expired = sweep();
+            if (expired > 0) {
+                logger.warning("Expired " + expired + " timed out shard runs.");
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Sweep shard runs error: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quartz-shard-run-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::sweepQuietly, sweepInterval.toMillis(),
+                sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,172 @@
+package com.coco.core;
+
+import com.coco.annotation.QuartzRetry;
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.log.JdbcTaskShardStore;
+import com.coco.log.TaskLogRecord;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 分片任务基类。
+ * 任务的每次触发由接收到触发的节点作为发起者，为分片执行创建状态行，再为同一个任务安排 shardTotal 个立即触发的
+ * 一次性触发器，触发器的 JobDataMap 中携带分片序号和分片总数。使用集群 JDBCJobStore 时，
+ * 这些触发器由集群中各个节点竞争获取，分片会分散到存活的节点上执行。
+ * 每个分片完成时累加状态行的完成数，最后一个完成的分片以发起时的 trigger 标识写入一条汇总日志，
+ * 所有分片都成功时为成功，否则为失败并记录第一个失败分片的错误信息。
+ * 分片任务的 JobDetail 总是请求恢复，执行分片的节点宕机后由集群中其他节点按原分片数据重新执行；
+ * 分片触发器丢失等原因导致的超时未完成的执行由 ShardRunSweeper 按失败结束。
+ *
+ * <p>任务类不能标注 DisallowConcurrentExecution，否则同一任务的分片只能依次执行。
+ */
+public abstract class ShardedQuartzJob extends BaseAbstractQuartzJob {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(ShardedQuartzJob.class.getName());
+
+    // JobExecutionContext 中标记所有分片都已成功完成的键，只在最后一个完成的分片中设置
+    private static final String RUN_SUCCEEDED = ShardedQuartzJob.class.getName() + ".runSucceeded";
+
+    @Autowired
+    private JdbcTaskShardStore taskShardStore;
+
+    /**
+     * 执行一个分片。
+     *
+     * @param context    任务执行上下文
+     * @param shardIndex 分片序号，从 0 开始
+     * @param shardTotal 分片总数
+     * @throws Throwable 可能抛出的异常
+     */
+    protected abstract void executeShard(JobExecutionContext context, int shardIndex,
+            int shardTotal) throws Throwable;
+
+    /**
+     * 获取本次触发的分片总数，默认读取 QuartzComponent 中设置的 shardTotal。
+     *
+     * @param context 任务执行上下文
+     * @return 分片总数
+     */
+    protected int getShardTotal(JobExecutionContext context) {
+        JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
+        return jobDataMap.containsKey(QuartzSign.SHARD_TOTAL)
+                ? jobDataMap.getIntValue(QuartzSign.SHARD_TOTAL) : 1;
+    }
+
+    /**
+     * 分片不单独重试，失败的分片计入汇总结果；发起者按任务类上的 QuartzRetry 注解重试。
+     */
+    @Override
+    protected QuartzRetry getRetryPolicy(JobExecutionContext context) {
+        return isShard(context) ? null : super.getRetryPolicy(context);
+    }
+
+    @Override
+    protected final void executeQuartzTask(JobExecutionContext context) throws Throwable {
+        JobDataMap triggerDataMap = context.getTrigger().getJobDataMap();
+        if (isShard(context)) {
+            executeShard(context, triggerDataMap.getIntValue(QuartzSign.SHARD_INDEX),
+                    triggerDataMap.getIntValue(QuartzSign.SHARD_TOTAL));
+        } else {
+            fanOut(context);
+        }
+    }
+
+    /**
+     * 发起分片。WRAP_JOB 模式下状态行和分片触发器在同一个事务中写入（Quartz 与日志使用同一个数据源时）。
+     * 部分分片触发器安排失败时撤销已安排的分片和状态行，发起者按失败写入日志；撤销失败时由 ShardRunSweeper 超时结束。
+     */
+    private void fanOut(JobExecutionContext context) throws SchedulerException {
+        int shardTotal = Math.max(getShardTotal(context), 1);
+        String runId = UUID.randomUUID().toString();
+        JobKey jobKey = context.getJobDetail().getKey();
+        taskShardStore.create(runId, jobKey.toString(), getOriginTriggerKey(context).toString(),
+                shardTotal, new Timestamp(context.getFireTime().getTime()));
+        Scheduler scheduler = context.getScheduler();
+        Date now = new Date();
+        List<TriggerKey> scheduledKeys = new ArrayList<>(shardTotal);
+        try {
+            for (int shardIndex = 0; shardIndex < shardTotal; shardIndex++) {
+                JobDataMap shardDataMap = new JobDataMap();
+                shardDataMap.put(QuartzSign.SHARD_RUN_ID, runId);
+                shardDataMap.put(QuartzSign.SHARD_INDEX, String.valueOf(shardIndex));
+                shardDataMap.put(QuartzSign.SHARD_TOTAL, String.valueOf(shardTotal));
+                TriggerKey shardTriggerKey = TriggerKey.triggerKey(runId + "_" + shardIndex,
+                        QuartzSign.SHARD_GROUP);
+                scheduler.scheduleJob(SchedulerCore.getOneShotTrigger(shardTriggerKey, jobKey,
+                        shardDataMap, now));
+                scheduledKeys.add(shardTriggerKey);
+            }
+        } catch (SchedulerException e) {
+            try {
+                // 已经执行的分片在状态行删除后不再计入，也不写日志
+                scheduler.unscheduleJobs(scheduledKeys);
+                taskShardStore.delete(runId);
+            } catch (Exception cancelException) {
+                logger.log(Level.SEVERE, "Cancel shard run " + runId + " error: "
+                        + cancelException.getMessage(), cancelException);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    protected TaskLogRecord processTaskLog(JobExecutionContext context, TaskLogRecord record) {
+        if (!isShard(context)) {
+            // 发起成功时不写日志，由最后一个完成的分片写入汇总结果；发起失败时照常写入
+            return record.getExecState() == LogTaskExecStateEnum.EXEC_SUCCESS.getCode()
+                    ? null : record;
+        }
+        String runId = context.getTrigger().getJobDataMap().getString(QuartzSign.SHARD_RUN_ID);
+        JdbcTaskShardStore.ShardRun shardRun;
+        try {
+            shardRun = taskShardStore.complete(runId,
+                    record.getExecState() != LogTaskExecStateEnum.EXEC_SUCCESS.getCode(),
+                    record.getErrorMessage());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Complete shard error: " + e.getMessage(), e);
+            return record;
+        }
+        if (shardRun == null) {
+            return null;
+        }
+        byte execState = shardRun.getFailed() == 0 ? LogTaskExecStateEnum.EXEC_SUCCESS.getCode()
+                : LogTaskExecStateEnum.EXEC_FAIL.getCode();
+        context.put(RUN_SUCCEEDED, shardRun.getFailed() == 0);
+        return new TaskLogRecord.Builder()
+                .setJobKey(shardRun.getJobKey())
+                .setTriggerKey(shardRun.getTriggerKey())
+                .setExecState(execState)
+                .setErrorMessage(shardRun.getErrorMessage())
+                .setExecuteTime(record.getEndTime())
+                .setStartTime(shardRun.getStartTime())
+                .setEndTime(record.getEndTime())
+                .setNodeId(record.getNodeId())
+                .setFireInstanceId(runId)
+                .build();
+    }
+
+    /**
+     * 发起分片时不触发下游任务，由最后一个完成的分片在所有分片都成功时触发。
+     */
+    @Override
+    protected boolean shouldTriggerDownstream(JobExecutionContext context, TaskLogRecord record) {
+        return Boolean.TRUE.equals(context.get(RUN_SUCCEEDED));
+    }
+
+    private static boolean isShard(JobExecutionContext context) {
+        return context.getTrigger().getJobDataMap().containsKey(QuartzSign.SHARD_INDEX);
+    }
+}
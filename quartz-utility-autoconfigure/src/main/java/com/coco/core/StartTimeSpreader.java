@@ -0,0 +1,63 @@
+package com.coco.core;
+
+import com.coco.enums.StartSpreadEnum;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import org.quartz.JobKey;
+
+/**
+ * 新建触发器的第一次触发时间分散策略，避免部署后所有任务在同一时刻触发，
+ * 并且相同间隔的任务之后一直在对齐的时间点上一起触发。
+ */
+public class StartTimeSpreader {
+
+    // RATE_LIMIT 策略下一个可用的启动时间，单位毫秒
+    private long nextRateLimitedStartTime;
+
+    /**
+     * 计算新建触发器的第一次触发时间。
+     *
+     * @param jobKey          任务标识，HASH 策略按它计算偏移
+     * @param quartzComponent 任务配置
+     * @return 第一次触发时间
+     */
+    public Date getStartTime(JobKey jobKey, QuartzComponent quartzComponent) {
+        long now = System.currentTimeMillis();
+        StartSpreadEnum startSpread = quartzComponent.getStartSpread();
+        if (startSpread == null || startSpread == StartSpreadEnum.NONE) {
+            return new Date(now);
+        }
+        long window = getWindowMillis(quartzComponent);
+        long offset = switch (startSpread) {
+            case HASH -> window > 0 ? Math.floorMod(mix(jobKey), window) : 0;
+            case RANDOM -> window > 0 ? ThreadLocalRandom.current().nextLong(window) : 0;
+            case RATE_LIMIT -> getRateLimitedOffset(now, quartzComponent.getStartRateLimit());
+            default -> 0;
+        };
+        return new Date(now + offset);
+    }
+
+    private synchronized long getRateLimitedOffset(long now, int startRateLimit) {
+        long startTime = Math.max(now, nextRateLimitedStartTime);
+        nextRateLimitedStartTime = startTime + 1000L / Math.max(startRateLimit, 1);
+        return startTime - now;
+    }
+
+    // 偏移不超过执行间隔，设置了 startSpreadWindow 时取两者中较小的值
+    private static long getWindowMillis(QuartzComponent quartzComponent) {
+        long interval = SchedulerCore.getIntervalMillis(quartzComponent);
+        Duration startSpreadWindow = quartzComponent.getStartSpreadWindow();
+        return startSpreadWindow != null ? Math.min(startSpreadWindow.toMillis(), interval)
+                : interval;
+    }
+
+    // String.hashCode 在不同 JVM 上结果相同，再做一次混合让相近的名称也能分散开
+    private static long mix(JobKey jobKey) {
+        long hash = jobKey.getGroup().hashCode() * 31L + jobKey.getName().hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
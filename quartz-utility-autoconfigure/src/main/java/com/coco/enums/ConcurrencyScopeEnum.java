@@ -0,0 +1,18 @@
+package com.coco.enums;
+
+public enum ConcurrencyScopeEnum {
+    // 按任务限制并发数
+    JOB("job"),
+    // 同一组的所有任务共享并发数
+    GROUP("group");
+
+    ConcurrencyScopeEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.coco.enums;
+
+public enum LogOverflowPolicyEnum {
+    // 队列已满时阻塞当前线程，直到有空位
+    BLOCK("block"),
+    // 队列已满时丢弃最早入队的日志
+    DROP_OLDEST("drop oldest"),
+    // 队列已满时回退为当前线程同步写入
+    SYNC("sync");
+
+    LogOverflowPolicyEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
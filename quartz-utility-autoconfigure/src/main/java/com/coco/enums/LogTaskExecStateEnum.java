@@ -5,6 +5,8 @@ public enum LogTaskExecStateEnum {
 
     EXEC_FAIL((byte) 0),
     EXEC_SUCCESS((byte) 1),
+    // 达到并发上限被跳过
+    EXEC_SKIPPED((byte) 2),
     UNKNOWN((byte) -99);
 
     private final byte code;
@@ -0,0 +1,20 @@
+package com.coco.enums;
+
+public enum MisfirePolicyEnum {
+    // 跳过错过的触发，等待下一次计划触发时间，保持剩余触发次数（原有行为）
+    SKIP("skip"),
+    // 立即触发一次，之后以此为起点按间隔继续触发
+    FIRE_NOW("fire now"),
+    // 忽略错过触发的判断，依次补齐所有错过的触发
+    IGNORE("ignore");
+
+    MisfirePolicyEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
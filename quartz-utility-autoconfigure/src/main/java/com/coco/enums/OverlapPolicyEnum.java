@@ -0,0 +1,20 @@
+package com.coco.enums;
+
+public enum OverlapPolicyEnum {
+    // 达到并发上限时跳过本次触发，记录为 EXEC_SKIPPED
+    SKIP("skip"),
+    // 达到并发上限时通过一次性触发器延迟重新触发，不占用工作线程，超过排队超时后跳过
+    QUEUE("queue"),
+    // 不限制并发
+    RUN("run");
+
+    OverlapPolicyEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.coco.enums;
+
+public enum StartSpreadEnum {
+    // 立即开始，所有任务在同一时刻第一次触发
+    NONE("none"),
+    // 按 JobKey 哈希在执行间隔内取固定偏移，每次部署的偏移相同
+    HASH("hash"),
+    // 在执行间隔内随机偏移
+    RANDOM("random"),
+    // 按每秒最多启动的任务数依次排开第一次触发
+    RATE_LIMIT("rate limit");
+
+    StartSpreadEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,6 +1,7 @@
 package com.coco.enums;
 
 public enum TimeEnum {
+    MILLISECONDS("millisecond"),
     SECONDS("second"),
     MINUTES("minute"),
     HOURS("hour");
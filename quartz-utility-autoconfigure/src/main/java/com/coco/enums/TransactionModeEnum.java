@@ -0,0 +1,20 @@
+package com.coco.enums;
+
+public enum TransactionModeEnum {
+    // 不开启事务，日志写入使用自动提交
+    NONE("none"),
+    // 只在写日志时开启一个短事务
+    LOG_ONLY("log only"),
+    // 事务包裹整个任务体和日志写入
+    WRAP_JOB("wrap job");
+
+    TransactionModeEnum(String message) {
+        this.message = message;
+    }
+
+    private final String message;
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,400 @@
+package com.coco.fastpath;
+
+import com.coco.annotation.QuartzRetry;
+import com.coco.core.ChunkedQuartzJob;
+import com.coco.core.QuartzComponent;
+import com.coco.core.QuartzSign;
+import com.coco.core.SchedulerCore;
+import com.coco.core.ShardedQuartzJob;
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import com.coco.metrics.TaskMetricsRecorder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+import org.quartz.ListenerManager;
+import org.quartz.Matcher;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.quartz.utils.ClassUtils;
+import org.quartz.utils.Key;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 非持久化高频任务的内存执行引擎。
+ * 不需要持久化（durability=false）、不需要恢复、并且执行间隔不超过 maxInterval 的任务不进入 Quartz JobStore，
+ * 由哈希时间轮计算触发时间，到期后直接交给工作线程池执行，跳过 JobStore 的锁和触发器获取。
+ * 任务实例的创建方式与 SpringBeanJobFactory 相同，执行时同样构造 JobExecutionContext，
+ * 因此 BaseAbstractQuartzJob 的日志、事务等逻辑不受影响。
+ * 任务只存在于当前节点的内存中，集群中每个节点都会执行，错过的触发直接跳过。
+ * 执行前后按匹配规则通知调度器 ListenerManager 中的 JobListener，工作线程池已满或上一次执行尚未结束而跳过的触发
+ * 按错过触发通知 TriggerListener 的 triggerMisfired，指标和调度滞后监控因此同样覆盖内存执行引擎中的任务。
+ */
+public class FastPathJobEngine implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(FastPathJobEngine.class.getName());
+
+    private final Scheduler scheduler;
+    private final AutowireCapableBeanFactory beanFactory;
+    private final long maxIntervalMillis;
+    private final int workerThreads;
+    private final int queueCapacity;
+    private final long shutdownTimeoutMillis;
+    private final HashedWheelTimer timer;
+    private final ConcurrentMap<JobKey, FastPathJob> jobs = new ConcurrentHashMap<>();
+    // 不存在 MeterRegistry 时为 null
+    private TaskMetricsRecorder taskMetricsRecorder;
+
+    // 因工作线程池已满或上一次执行尚未结束而跳过的触发次数
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong fireSequence = new AtomicLong();
+
+    private volatile boolean running;
+    private ThreadPoolExecutor executor;
+
+    public FastPathJobEngine(Scheduler scheduler, AutowireCapableBeanFactory beanFactory,
+            Duration maxInterval, Duration tickDuration, int wheelSize, int workerThreads,
+            int queueCapacity, Duration shutdownTimeout) {
+        this.scheduler = scheduler;
+        this.beanFactory = beanFactory;
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.workerThreads = workerThreads;
+        this.queueCapacity = queueCapacity;
+        this.shutdownTimeoutMillis = shutdownTimeout.toMillis();
+        this.timer = new HashedWheelTimer("quartz-fast-path-timer", tickDuration, wheelSize);
+    }
+
+    /**
+     * 判断任务是否由内存执行引擎执行。
+     *
+     * @param jobClass        任务类
+     * @param quartzComponent 任务配置
+     * @return 不是分片或分段任务、没有标注 QuartzRetry、不持久化、不恢复、错过触发时跳过、不使用 QUEUE 并发策略
+     *         且执行间隔不超过 maxInterval 时返回 true
+     */
+    public boolean supports(Class<? extends Job> jobClass, QuartzComponent quartzComponent) {
+        // 分片、分段续跑、重试和 QUEUE 策略通过 JobStore 中的一次性触发器触发，任务必须在 JobStore 中
+        return !ShardedQuartzJob.class.isAssignableFrom(jobClass)
+                && !ChunkedQuartzJob.class.isAssignableFrom(jobClass)
+                && jobClass.getAnnotation(QuartzRetry.class) == null
+                && quartzComponent.getShardTotal() <= 1
+                && !quartzComponent.isDurability() && !quartzComponent.isShouldRecover()
+                && quartzComponent.getMisfirePolicy() == MisfirePolicyEnum.SKIP
+                && quartzComponent.getOverlapPolicy() != OverlapPolicyEnum.QUEUE
+                && SchedulerCore.getIntervalMillis(quartzComponent) <= maxIntervalMillis;
+    }
+
+    /**
+     * 安排一个任务，已存在同名任务且定义指纹相同时不做任何修改，定义变化时替换原任务。
+     *
+     * @param jobDetail 任务定义
+     * @param trigger   由 SchedulerCore.getSimpleTrigger 创建的触发器
+     * @return 任务是新增或变化的返回 true，未变化返回 false
+     */
+    public synchronized boolean schedule(JobDetail jobDetail, Trigger trigger) {
+        FastPathJob fastPathJob = new FastPathJob(jobDetail, (OperableTrigger) trigger);
+        FastPathJob existing = jobs.get(jobDetail.getKey());
+        if (existing != null && existing.hasSameDefinition(fastPathJob)) {
+            return false;
+        }
+        existing = jobs.put(jobDetail.getKey(), fastPathJob);
+        if (existing != null) {
+            existing.cancel();
+        }
+        if (running) {
+            fastPathJob.arm(System.currentTimeMillis());
+        }
+        return true;
+    }
+
+    /**
+     * 删除任务，正在执行的任务不受影响。
+     *
+     * @param jobKey 任务标识
+     * @return 任务是否存在
+     */
+    public synchronized boolean unschedule(JobKey jobKey) {
+        FastPathJob fastPathJob = jobs.remove(jobKey);
+        if (fastPathJob == null) {
+            return false;
+        }
+        fastPathJob.cancel();
+        return true;
+    }
+
+    public boolean isScheduled(JobKey jobKey) {
+        return jobs.containsKey(jobKey);
+    }
+
+    public Set<JobKey> getJobKeys() {
+        return new HashSet<>(jobs.keySet());
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public void setTaskMetricsRecorder(TaskMetricsRecorder taskMetricsRecorder) {
+        this.taskMetricsRecorder = taskMetricsRecorder;
+    }
+
+    /**
+     * 获取调度器中与任务匹配的 JobListener。
+     */
+    private List<JobListener> getJobListeners(JobKey jobKey) throws SchedulerException {
+        ListenerManager listenerManager = scheduler.getListenerManager();
+        List<JobListener> listeners = new ArrayList<>();
+        for (JobListener listener : listenerManager.getJobListeners()) {
+            if (matches(listenerManager.getJobListenerMatchers(listener.getName()), jobKey)) {
+                listeners.add(listener);
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * 把一次跳过的触发按错过触发通知调度器中与触发器匹配的 TriggerListener。
+     */
+    private void notifyMisfired(Trigger trigger) {
+        try {
+            ListenerManager listenerManager = scheduler.getListenerManager();
+            for (TriggerListener listener : listenerManager.getTriggerListeners()) {
+                if (matches(listenerManager.getTriggerListenerMatchers(listener.getName()),
+                        trigger.getKey())) {
+                    listener.triggerMisfired(trigger);
+                }
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Notify trigger misfired error: " + e.getMessage(), e);
+        }
+    }
+
+    // 没有匹配规则时与 Quartz 一致，匹配所有任务
+    private static <T extends Key<T>> boolean matches(List<Matcher<T>> matchers, T key) {
+        if (matchers == null) {
+            return true;
+        }
+        for (Matcher<T> matcher : matchers) {
+            if (matcher.isMatch(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "quartz-fast-path-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        running = true;
+        timer.start();
+        long now = System.currentTimeMillis();
+        jobs.values().forEach(fastPathJob -> fastPathJob.arm(now));
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        jobs.values().forEach(FastPathJob::disarm);
+        timer.stop();
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    logger.warning("Fast path jobs did not finish within the shutdown timeout.");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 与 SchedulerFactoryBean 同一阶段，容器完全启动后才开始触发
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 内存中的一个任务，保存触发状态。
+     */
+    private class FastPathJob {
+
+        private final JobDetail jobDetail;
+        private final OperableTrigger trigger;
+        private final long intervalMillis;
+        private final boolean disallowConcurrent;
+        // 上一次执行是否尚未结束，只在 disallowConcurrent 时使用
+        private final AtomicBoolean executing = new AtomicBoolean();
+
+        private volatile boolean cancelled;
+        private volatile HashedWheelTimer.Timeout timeout;
+        // 触发状态，arm 之后只由时间轮线程修改
+        private volatile long nextFireTime;
+        private volatile Date previousFireTime;
+
+        private FastPathJob(JobDetail jobDetail, OperableTrigger trigger) {
+            this.jobDetail = jobDetail;
+            this.trigger = trigger;
+            // 与 JobStore 中的触发器一致，监听器通过 getJobKey 找到任务
+            this.trigger.setJobKey(jobDetail.getKey());
+            this.intervalMillis = Math.max(((SimpleTrigger) trigger).getRepeatInterval(), 1);
+            this.disallowConcurrent = ClassUtils.isAnnotationPresent(jobDetail.getJobClass(),
+                    DisallowConcurrentExecution.class);
+        }
+
+        private boolean hasSameDefinition(FastPathJob other) {
+            return Objects.equals(
+                    jobDetail.getJobDataMap().get(QuartzSign.JOB_FINGERPRINT),
+                    other.jobDetail.getJobDataMap().get(QuartzSign.JOB_FINGERPRINT))
+                    && Objects.equals(
+                    trigger.getJobDataMap().get(QuartzSign.TRIGGER_FINGERPRINT),
+                    other.trigger.getJobDataMap().get(QuartzSign.TRIGGER_FINGERPRINT));
+        }
+
+        private void arm(long now) {
+            long startTime = trigger.getStartTime().getTime();
+            nextFireTime = Math.max(startTime, now);
+            timeout = timer.newTimeout(this::fire, nextFireTime - now, TimeUnit.MILLISECONDS);
+        }
+
+        private void disarm() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            disarm();
+        }
+
+        /**
+         * 在时间轮线程上执行：计算下一次触发时间并重新放入时间轮，再把本次执行交给工作线程池。
+         */
+        private void fire() {
+            if (cancelled || !running) {
+                return;
+            }
+            long scheduledFireTime = nextFireTime;
+            long now = System.currentTimeMillis();
+            // 跳过已经错过的触发，与 withMisfireHandlingInstructionNextWithRemainingCount 一致
+            long next = scheduledFireTime
+                    + ((Math.max(now - scheduledFireTime, 0) / intervalMillis) + 1) * intervalMillis;
+            nextFireTime = next;
+            timeout = timer.newTimeout(this::fire, next - now, TimeUnit.MILLISECONDS);
+
+            Date previous = previousFireTime;
+            previousFireTime = new Date(scheduledFireTime);
+            if (disallowConcurrent && !executing.compareAndSet(false, true)) {
+                skip();
+                return;
+            }
+            try {
+                executor.execute(() -> execute(scheduledFireTime, previous, next));
+            } catch (RejectedExecutionException e) {
+                executing.set(false);
+                skip();
+                logger.fine("Fast path worker pool is full, skip " + jobDetail.getKey());
+            }
+        }
+
+        private void skip() {
+            skippedCount.incrementAndGet();
+            if (taskMetricsRecorder != null) {
+                taskMetricsRecorder.recordFastPathSkipped(jobDetail.getKey());
+            }
+            notifyMisfired(trigger);
+        }
+
+        private void execute(long scheduledFireTime, Date previous, long next) {
+            try {
+                OperableTrigger firedTrigger = (OperableTrigger) trigger.clone();
+                firedTrigger.setFireInstanceId("FP" + fireSequence.incrementAndGet());
+                TriggerFiredBundle bundle = new TriggerFiredBundle(jobDetail, firedTrigger, null,
+                        false, new Date(), new Date(scheduledFireTime), previous, new Date(next));
+                Job job = createJob(bundle);
+                JobExecutionContextImpl context = new JobExecutionContextImpl(scheduler, bundle,
+                        job);
+                List<JobListener> listeners = getJobListeners(jobDetail.getKey());
+                for (JobListener listener : listeners) {
+                    listener.jobToBeExecuted(context);
+                }
+                JobExecutionException jobException = null;
+                long startTime = System.currentTimeMillis();
+                try {
+                    job.execute(context);
+                } catch (JobExecutionException e) {
+                    jobException = e;
+                } catch (Throwable e) {
+                    jobException = new JobExecutionException(e);
+                }
+                context.setJobRunTime(System.currentTimeMillis() - startTime);
+                for (JobListener listener : listeners) {
+                    listener.jobWasExecuted(context, jobException);
+                }
+            } catch (Throwable e) {
+                logger.log(Level.SEVERE, "Fast path job execute error: " + e.getMessage(), e);
+            } finally {
+                executing.set(false);
+            }
+        }
+
+        // 与 SpringBeanJobFactory 相同：创建并注入任务实例，再把 JobDataMap 中的值设置到同名属性上
+        private Job createJob(TriggerFiredBundle bundle) {
+            Job job = beanFactory.createBean(bundle.getJobDetail().getJobClass());
+            BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(job);
+            MutablePropertyValues propertyValues = new MutablePropertyValues();
+            propertyValues.addPropertyValues(bundle.getJobDetail().getJobDataMap());
+            propertyValues.addPropertyValues(bundle.getTrigger().getJobDataMap());
+            beanWrapper.setPropertyValues(propertyValues, true);
+            return job;
+        }
+    }
+}
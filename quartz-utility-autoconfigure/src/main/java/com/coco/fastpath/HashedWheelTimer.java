@@ -0,0 +1,206 @@
+package com.coco.fastpath;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 哈希时间轮。
+ * 时间轮由 wheelSize 个槽组成，每个刻度 tickDuration，单个后台线程每个刻度只处理一个槽，
+ * 新增和取消定时任务都是 O(1)，到期精度为一个刻度。定时任务在后台线程上执行，必须很快返回，
+ * 耗时的工作应当交给其他线程池。
+ */
+public class HashedWheelTimer {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(HashedWheelTimer.class.getName());
+
+    private final String threadName;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    // 其他线程新增的定时任务，由时间轮线程在每个刻度开始时转移到槽中
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final long startTime = System.nanoTime();
+
+    private volatile boolean running;
+    private Thread workerThread;
+    // 只由时间轮线程读写
+    private long tick;
+
+    /**
+     * @param threadName   时间轮线程名称
+     * @param tickDuration 刻度时长
+     * @param wheelSize    槽数，会向上取整为 2 的幂
+     */
+    public HashedWheelTimer(String threadName, Duration tickDuration, int wheelSize) {
+        this.threadName = threadName;
+        this.tickNanos = Math.max(tickDuration.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 新增一个定时任务。
+     *
+     * @param task  到期后在时间轮线程上执行的任务
+     * @param delay 延迟时间
+     * @param unit  延迟时间单位
+     * @return 可以取消的定时任务句柄
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(unit.toNanos(delay), 0);
+        Timeout timeout = new Timeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        workerThread = new Thread(this::workLoop, threadName);
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (workerThread != null) {
+            LockSupport.unpark(workerThread);
+            try {
+                workerThread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workerThread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void workLoop() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while (running && (sleepNanos = startTime + deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (!running) {
+                break;
+            }
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的任务放到当前刻度立即处理
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 定时任务句柄。
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消定时任务，已经放入槽中的任务在所在槽下一次到期时移除。
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * 时间轮的一个槽，只由时间轮线程访问的双向链表。
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.cancelled) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    try {
+                        timeout.task.run();
+                    } catch (Throwable e) {
+                        logger.log(Level.SEVERE, "Timer task error: " + e.getMessage(), e);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.coco.jfr;
+
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.enums.TransactionModeEnum;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.quartz.JobExecutionContext;
+
+/**
+ * 一次任务执行的 JFR 事件，事件时长为整个执行过程，并按阶段记录事务获取、任务体、日志写入和提交的耗时。
+ * 默认不开启，通过 quartz-utility.jfc 或 -XX:StartFlightRecording 的 settings 开启。
+ * 未开启时 begin 和 commit 都是空操作，阶段耗时只是几次 System.nanoTime 调用。
+ */
+@Name(JobExecutionEvent.NAME)
+@Label("Quartz Job Execution")
+@Description("Phase breakdown of one BaseAbstractQuartzJob or AsyncQuartzJob execution")
+@Category({"Quartz Utility"})
+@StackTrace(false)
+@Enabled(false)
+public class JobExecutionEvent extends Event {
+
+    public static final String NAME = "com.coco.quartz.JobExecution";
+
+    @Label("Job Key")
+    private String jobKey;
+
+    @Label("Trigger Key")
+    private String triggerKey;
+
+    @Label("Fire Instance Id")
+    private String fireInstanceId;
+
+    @Label("Transaction Mode")
+    private String transactionMode;
+
+    @Label("Exec State")
+    private String execState;
+
+    @Label("Transaction Acquire")
+    @Description("Time to open the transaction, before the task body (WRAP_JOB) or before the log write (LOG_ONLY)")
+    @Timespan(Timespan.NANOSECONDS)
+    private long transactionAcquire;
+
+    @Label("Task Body")
+    @Description("Time spent in executeQuartzTask, or from executeAsync until the async result completes")
+    @Timespan(Timespan.NANOSECONDS)
+    private long taskBody;
+
+    @Label("Log Write")
+    @Description("Time of the task log upsert and the history append")
+    @Timespan(Timespan.NANOSECONDS)
+    private long logWrite;
+
+    @Label("Commit")
+    @Timespan(Timespan.NANOSECONDS)
+    private long commit;
+
+    @Label("Async Log")
+    @Description("Whether the task log was handed to the async writer")
+    private boolean asyncLog;
+
+    public void addTransactionAcquire(long nanos) {
+        this.transactionAcquire += nanos;
+    }
+
+    public void setTaskBody(long nanos) {
+        this.taskBody = nanos;
+    }
+
+    public void setLogWrite(long nanos) {
+        this.logWrite = nanos;
+    }
+
+    public void setCommit(long nanos) {
+        this.commit = nanos;
+    }
+
+    public void setAsyncLog(boolean asyncLog) {
+        this.asyncLog = asyncLog;
+    }
+
+    /**
+     * 结束事件，超过阈值时填入任务标识并提交。
+     *
+     * @param context         任务执行上下文
+     * @param transactionMode 事务模式
+     * @param execState       执行状态
+     */
+    public void commit(JobExecutionContext context, TransactionModeEnum transactionMode,
+            byte execState) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.jobKey = context.getJobDetail().getKey().toString();
+        this.triggerKey = context.getTrigger().getKey().toString();
+        this.fireInstanceId = context.getFireInstanceId();
+        this.transactionMode = transactionMode == null ? null : transactionMode.name();
+        this.execState = LogTaskExecStateEnum.parse(execState).name();
+        commit();
+    }
+}
@@ -0,0 +1,71 @@
+package com.coco.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CoQuartzScheduler 调度操作的 JFR 事件，事件时长为整个调度操作。
+ * scheduleSimpleIntervalJob 记录任务和触发器标识以及对账结果，scheduleAll 记录任务数和各类对账结果的数量。
+ */
+@Name(ScheduleOperationEvent.NAME)
+@Label("Quartz Schedule Operation")
+@Description("One CoQuartzScheduler scheduleSimpleIntervalJob or scheduleAll call")
+@Category({"Quartz Utility"})
+@StackTrace(false)
+@Enabled(false)
+public class ScheduleOperationEvent extends Event {
+
+    public static final String NAME = "com.coco.quartz.ScheduleOperation";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Job Key")
+    private String jobKey;
+
+    @Label("Trigger Key")
+    private String triggerKey;
+
+    @Label("Result")
+    @Description("ADDED, CHANGED, UNCHANGED or FAST_PATH for a single job")
+    private String result;
+
+    @Label("Job Count")
+    private int jobCount;
+
+    @Label("Added")
+    private int added;
+
+    @Label("Changed")
+    private int changed;
+
+    @Label("Unchanged")
+    private int unchanged;
+
+    @Label("Removed Jobs")
+    private int removedJobs;
+
+    public ScheduleOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void setJob(String jobKey, String triggerKey, String result) {
+        this.jobKey = jobKey;
+        this.triggerKey = triggerKey;
+        this.result = result;
+        this.jobCount = 1;
+    }
+
+    public void setCounts(int jobCount, int added, int changed, int unchanged, int removedJobs) {
+        this.jobCount = jobCount;
+        this.added = added;
+        this.changed = changed;
+        this.unchanged = unchanged;
+        this.removedJobs = removedJobs;
+    }
+}
@@ -0,0 +1,46 @@
+package com.coco.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * AsyncTaskLogWriter 批量写入一批任务日志的 JFR 事件，事件时长为整个批次的写入。
+ */
+@Name(TaskLogFlushEvent.NAME)
+@Label("Quartz Task Log Flush")
+@Description("One batch written by AsyncTaskLogWriter")
+@Category({"Quartz Utility"})
+@StackTrace(false)
+@Enabled(false)
+public class TaskLogFlushEvent extends Event {
+
+    public static final String NAME = "com.coco.quartz.TaskLogFlush";
+
+    @Label("Batch Size")
+    @Description("Number of records taken from the queue, all appended to the history")
+    private int batchSize;
+
+    @Label("Latest Records")
+    @Description("Number of records upserted into quartz_task_log after keeping the latest per trigger")
+    private int latestRecords;
+
+    @Label("Success")
+    private boolean success;
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setLatestRecords(int latestRecords) {
+        this.latestRecords = latestRecords;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,44 @@
+package com.coco.log;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 基于单条 upsert 语句的 JDBC 任务日志存储，每次写入只需一次数据库往返，
+ * 并依赖 unique_log_idx 唯一索引消除多节点同时写入时的竞争。
+ * 子类只需提供对应数据库方言的 upsert 语句，参数顺序固定为
+ * job_key, trigger_key, exec_state, error_message, execute_time。
+ */
+public abstract class AbstractJdbcTaskLogStore implements TaskLogStore {
+
+    protected final JdbcTemplate quartzJdbcTemplate;
+
+    protected AbstractJdbcTaskLogStore(JdbcTemplate quartzJdbcTemplate) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+    }
+
+    /**
+     * @return 当前数据库方言的 upsert 语句
+     */
+    protected abstract String getUpsertSql();
+
+    @Override
+    public void save(TaskLogRecord record) {
+        quartzJdbcTemplate.update(getUpsertSql(), ps -> setValues(ps, record));
+    }
+
+    @Override
+    public void saveAll(List<TaskLogRecord> records) {
+        quartzJdbcTemplate.batchUpdate(getUpsertSql(), records, records.size(), this::setValues);
+    }
+
+    protected void setValues(PreparedStatement ps, TaskLogRecord record) throws SQLException {
+        ps.setString(1, record.getJobKey());
+        ps.setString(2, record.getTriggerKey());
+        ps.setByte(3, record.getExecState());
+        ps.setString(4, record.getErrorMessage());
+        ps.setTimestamp(5, record.getExecuteTime());
+    }
+}
@@ -0,0 +1,204 @@
+package com.coco.log;
+
+import com.coco.enums.LogOverflowPolicyEnum;
+import com.coco.jfr.TaskLogFlushEvent;
+import com.coco.metrics.TaskMetricsRecorder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 异步批量任务日志写入器。
+ * 任务线程只负责把执行结果放入有界队列，后台刷写线程按批次大小和时间窗口合并后交给 TaskLogStore 批量写入，
+ * 使 Quartz 工作线程在任务体结束后即可归还线程池。
+ * 生命周期阶段低于调度器，Spring 容器关闭时会在调度器停止之后把队列中剩余的日志全部刷写完。
+ */
+public class AsyncTaskLogWriter implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(AsyncTaskLogWriter.class.getName());
+
+    // 比调度器（SchedulerFactoryBean 默认 Integer.MAX_VALUE）先启动、后停止
+    private static final int PHASE = Integer.MAX_VALUE - 1024;
+
+    private final TaskLogStore taskLogStore;
+    // 未开启执行历史时为 null
+    private final JdbcTaskHistoryStore taskHistoryStore;
+    private final BlockingQueue<TaskLogRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+    private final LogOverflowPolicyEnum overflowPolicy;
+    // 不存在 MeterRegistry 时为 null
+    private TaskMetricsRecorder taskMetricsRecorder;
+
+    // 因队列溢出被丢弃的日志数量
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AsyncTaskLogWriter(TaskLogStore taskLogStore, JdbcTaskHistoryStore taskHistoryStore,
+            int queueCapacity, int batchSize, Duration flushInterval, Duration shutdownTimeout,
+            LogOverflowPolicyEnum overflowPolicy) {
+        this.taskLogStore = taskLogStore;
+        this.taskHistoryStore = taskHistoryStore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeoutMillis = shutdownTimeout.toMillis();
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 提交一条任务日志。
+     *
+     * @param record 任务日志记录
+     * @return 已进入异步队列返回 true；写入器未运行或按 SYNC 策略溢出时返回 false，调用方应同步写入。
+     */
+    public boolean write(TaskLogRecord record) {
+        if (!running) {
+            return false;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(record);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(record)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+            }
+            case SYNC -> {
+                return queue.offer(record);
+            }
+        }
+        return true;
+    }
+
+    public void setTaskMetricsRecorder(TaskMetricsRecorder taskMetricsRecorder) {
+        this.taskMetricsRecorder = taskMetricsRecorder;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<TaskLogRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskLogRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 以第一条日志入批的时间作为时间窗口起点，批次满或窗口到期即刷写
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    TaskLogRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 停止时被中断，把队列中剩余的日志一并刷写
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<TaskLogRecord> batch) {
+        long flushStart = System.nanoTime();
+        TaskLogFlushEvent event = new TaskLogFlushEvent();
+        event.begin();
+        event.setBatchSize(batch.size());
+        try {
+            // quartz_task_log 每个 (job_key, trigger_key) 只保留最新状态，同一批次中只需写最后一条
+            Map<String, TaskLogRecord> latest = new LinkedHashMap<>();
+            for (TaskLogRecord record : batch) {
+                latest.put(record.getJobKey() + '\u0000' + record.getTriggerKey(), record);
+            }
+            event.setLatestRecords(latest.size());
+            taskLogStore.saveAll(new ArrayList<>(latest.values()));
+            // 执行历史每次执行都要保留
+            if (taskHistoryStore != null) {
+                taskHistoryStore.appendAll(batch);
+            }
+            if (taskMetricsRecorder != null) {
+                taskMetricsRecorder.recordLogFlush(batch.size(), System.nanoTime() - flushStart);
+            }
+            event.setSuccess(true);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Flush task log batch error, " + batch.size()
+                    + " records lost: " + e.getMessage(), e);
+        }
+        event.commit();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "quartz-task-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(shutdownTimeoutMillis);
+            if (flusher.isAlive()) {
+                flusher.interrupt();
+                logger.warning("Task log flusher did not finish in " + shutdownTimeoutMillis
+                        + "ms, " + queue.size() + " records remaining.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,57 @@
+package com.coco.log;
+
+import java.util.List;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 写入任务日志后同步更新 {@link TaskStatusService} 缓存的 TaskLogStore 装饰器。
+ * 同步写入和异步批量写入都经过 TaskLogStore，本节点写入的最新状态不需要等待整表刷新即可查询到。
+ * 在事务中写入时，缓存在事务提交之后才更新，回滚的日志不会出现在缓存中。
+ */
+public class CachingTaskLogStore implements TaskLogStore {
+
+    private final TaskLogStore delegate;
+    private final TaskStatusService taskStatusService;
+
+    public CachingTaskLogStore(TaskLogStore delegate, TaskStatusService taskStatusService) {
+        this.delegate = delegate;
+        this.taskStatusService = taskStatusService;
+    }
+
+    @Override
+    public void save(TaskLogRecord record) {
+        delegate.save(record);
+        afterCommit(() -> taskStatusService.update(record));
+    }
+
+    @Override
+    public void saveAll(List<TaskLogRecord> records) {
+        delegate.saveAll(records);
+        afterCommit(() -> {
+            for (TaskLogRecord record : records) {
+                taskStatusService.update(record);
+            }
+        });
+    }
+
+    /**
+     * 存在事务同步时在事务提交之后执行，否则立即执行。
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public TaskLogStore getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,71 @@
+package com.coco.log;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 无法识别数据库类型时使用的任务日志存储，先按 (job_key, trigger_key) 更新，未命中再插入。
+ * 没有单语句 upsert，因此直接实现 TaskLogStore，而不是继承 AbstractJdbcTaskLogStore。
+ */
+public class GenericJdbcTaskLogStore implements TaskLogStore {
+
+    private final JdbcTemplate quartzJdbcTemplate;
+
+    public GenericJdbcTaskLogStore(JdbcTemplate quartzJdbcTemplate) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+    }
+
+    @Override
+    public void save(TaskLogRecord record) {
+        int update = quartzJdbcTemplate.update(UPDATE_SQL, record.getExecState(),
+                record.getErrorMessage(), record.getExecuteTime(), record.getJobKey(),
+                record.getTriggerKey());
+        if (update == 0) {
+            quartzJdbcTemplate.update(INSERT_SQL, ps -> setValues(ps, record));
+        }
+    }
+
+    @Override
+    public void saveAll(List<TaskLogRecord> records) {
+        int[] updated = quartzJdbcTemplate.batchUpdate(UPDATE_SQL, records, records.size(),
+                (ps, record) -> {
+                    ps.setByte(1, record.getExecState());
+                    ps.setString(2, record.getErrorMessage());
+                    ps.setTimestamp(3, record.getExecuteTime());
+                    ps.setString(4, record.getJobKey());
+                    ps.setString(5, record.getTriggerKey());
+                })[0];
+        for (int count : updated) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                // 驱动不返回每条语句的更新行数时无法判断哪些未命中，逐条重新执行，更新是幂等的
+                records.forEach(this::save);
+                return;
+            }
+        }
+        List<TaskLogRecord> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(records.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            quartzJdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), this::setValues);
+        }
+    }
+
+    private void setValues(PreparedStatement ps, TaskLogRecord record) throws SQLException {
+        ps.setString(1, record.getJobKey());
+        ps.setString(2, record.getTriggerKey());
+        ps.setByte(3, record.getExecState());
+        ps.setString(4, record.getErrorMessage());
+        ps.setTimestamp(5, record.getExecuteTime());
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO quartz_task_log (job_key, trigger_key, exec_state, error_message, execute_time) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE quartz_task_log SET exec_state = ?, error_message = ?, execute_time = ? WHERE job_key = ? AND trigger_key = ?";
+
+}
@@ -0,0 +1,21 @@
+package com.coco.log;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * H2 任务日志存储，使用 MERGE ... KEY。
+ */
+public class H2TaskLogStore extends AbstractJdbcTaskLogStore {
+
+    public H2TaskLogStore(JdbcTemplate quartzJdbcTemplate) {
+        super(quartzJdbcTemplate);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return UPSERT_SQL;
+    }
+
+    private static final String UPSERT_SQL = "MERGE INTO quartz_task_log (job_key, trigger_key, exec_state, error_message, execute_time) KEY (job_key, trigger_key) VALUES (?, ?, ?, ?, ?)";
+
+}
@@ -0,0 +1,108 @@
+package com.coco.log;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 分段任务游标存储，quartz_task_cursor 表中每个正在执行的任务一行。
+ * 一轮执行开始时插入，每处理完一段更新游标，整轮执行完成后删除；行存在表示该任务有未完成的一轮执行。
+ */
+public class JdbcTaskCursorStore {
+
+    private final JdbcTemplate quartzJdbcTemplate;
+
+    public JdbcTaskCursorStore(JdbcTemplate quartzJdbcTemplate) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+    }
+
+    /**
+     * 查询任务未完成的一轮执行。
+     *
+     * @param jobKey job 标识
+     * @return 没有未完成的执行时返回 null
+     */
+    public TaskCursor getCursor(String jobKey) {
+        List<TaskCursor> cursors = quartzJdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new TaskCursor(rs.getString("run_id"),
+                        rs.getString("cursor_value"), rs.getLong("chunk_count"),
+                        rs.getTimestamp("start_time")),
+                jobKey);
+        return cursors.isEmpty() ? null : cursors.get(0);
+    }
+
+    /**
+     * 开始一轮执行。
+     *
+     * @param jobKey    job 标识
+     * @param runId     本轮执行标识
+     * @param startTime 开始时间
+     */
+    public void create(String jobKey, String runId, Timestamp startTime) {
+        quartzJdbcTemplate.update(INSERT_SQL, jobKey, runId, startTime, startTime);
+    }
+
+    /**
+     * 保存一段处理完成后的游标。
+     *
+     * @param jobKey      job 标识
+     * @param runId       本轮执行标识
+     * @param cursorValue 下一段的起始游标
+     * @return 本轮执行已不存在时返回 false
+     */
+    public boolean save(String jobKey, String runId, String cursorValue) {
+        return quartzJdbcTemplate.update(UPDATE_SQL, cursorValue,
+                new Timestamp(System.currentTimeMillis()), jobKey, runId) > 0;
+    }
+
+    /**
+     * 结束一轮执行。
+     *
+     * @param jobKey job 标识
+     * @param runId  本轮执行标识
+     */
+    public void delete(String jobKey, String runId) {
+        quartzJdbcTemplate.update(DELETE_SQL, jobKey, runId);
+    }
+
+    /**
+     * 一轮未完成的执行。
+     */
+    public static class TaskCursor {
+
+        private final String runId;
+        private final String cursorValue;
+        private final long chunkCount;
+        private final Timestamp startTime;
+
+        private TaskCursor(String runId, String cursorValue, long chunkCount,
+                Timestamp startTime) {
+            this.runId = runId;
+            this.cursorValue = cursorValue;
+            this.chunkCount = chunkCount;
+            this.startTime = startTime;
+        }
+
+        public String getRunId() {
+            return runId;
+        }
+
+        public String getCursorValue() {
+            return cursorValue;
+        }
+
+        public long getChunkCount() {
+            return chunkCount;
+        }
+
+        public Timestamp getStartTime() {
+            return startTime;
+        }
+    }
+
+    private static final String SELECT_SQL = "SELECT run_id, cursor_value, chunk_count, start_time FROM quartz_task_cursor WHERE job_key = ?";
+    private static final String INSERT_SQL = "INSERT INTO quartz_task_cursor (job_key, run_id, cursor_value, chunk_count, start_time, update_time) VALUES (?, ?, NULL, 0, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE quartz_task_cursor SET cursor_value = ?, chunk_count = chunk_count + 1, update_time = ? WHERE job_key = ? AND run_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM quartz_task_cursor WHERE job_key = ? AND run_id = ?";
+
+}
@@ -0,0 +1,120 @@
+package com.coco.log;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 任务失败汇总存储，quartz_task_failure 表按失败指纹每类失败一行。
+ * MySQL、PostgreSQL 使用单语句 upsert 累加次数，其他数据库先更新，未命中再插入。
+ * 已存在的行只更新次数、最后出现时间和错误信息，栈信息样本保留第一次写入的内容。
+ */
+public class JdbcTaskFailureStore {
+
+    private final JdbcTemplate quartzJdbcTemplate;
+    // 不支持单语句 upsert 时为 null
+    private final String upsertSql;
+
+    public JdbcTaskFailureStore(JdbcTemplate quartzJdbcTemplate) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+        this.upsertSql = getUpsertSql(
+                JdbcTaskLogStoreFactory.getDatabaseDriver(quartzJdbcTemplate.getDataSource()));
+    }
+
+    private static String getUpsertSql(DatabaseDriver databaseDriver) {
+        return switch (databaseDriver) {
+            case MYSQL, MARIADB -> MYSQL_UPSERT_SQL;
+            case POSTGRESQL -> POSTGRESQL_UPSERT_SQL;
+            default -> null;
+        };
+    }
+
+    /**
+     * 批量累加失败次数。
+     *
+     * @param failures 失败汇总，同一批次内指纹不重复
+     */
+    public void saveAll(List<TaskFailure> failures) {
+        if (upsertSql != null) {
+            quartzJdbcTemplate.batchUpdate(upsertSql, failures, failures.size(),
+                    this::setValues);
+            return;
+        }
+        for (TaskFailure failure : failures) {
+            save(failure);
+        }
+    }
+
+    private void save(TaskFailure failure) {
+        if (update(failure) > 0) {
+            return;
+        }
+        try {
+            quartzJdbcTemplate.update(INSERT_SQL, ps -> setValues(ps, failure));
+        } catch (DuplicateKeyException e) {
+            // 其他节点已经插入了同一个指纹
+            update(failure);
+        }
+    }
+
+    private int update(TaskFailure failure) {
+        return quartzJdbcTemplate.update(UPDATE_SQL, failure.getOccurrenceCount(),
+                failure.getLastSeen(), failure.getErrorMessage(), failure.getFingerprint());
+    }
+
+    /**
+     * 按指纹查询失败汇总。
+     *
+     * @param fingerprint 失败指纹
+     * @return 不存在时返回 null
+     */
+    public TaskFailure getFailure(String fingerprint) {
+        List<TaskFailure> failures = quartzJdbcTemplate.query(SELECT_SQL, this::mapRow,
+                fingerprint);
+        return failures.isEmpty() ? null : failures.get(0);
+    }
+
+    /**
+     * 查询某个任务的失败汇总，按最后出现时间倒序。
+     *
+     * @param jobKey job 标识
+     * @param limit  最多返回的行数
+     * @return 失败汇总
+     */
+    public List<TaskFailure> listFailures(String jobKey, int limit) {
+        return quartzJdbcTemplate.query(SELECT_BY_JOB_SQL, this::mapRow, jobKey, limit);
+    }
+
+    private void setValues(PreparedStatement ps, TaskFailure failure) throws SQLException {
+        ps.setString(1, failure.getFingerprint());
+        ps.setString(2, failure.getJobKey());
+        ps.setString(3, failure.getExceptionClass());
+        ps.setString(4, failure.getErrorMessage());
+        ps.setLong(5, failure.getOccurrenceCount());
+        ps.setTimestamp(6, failure.getFirstSeen());
+        ps.setTimestamp(7, failure.getLastSeen());
+        ps.setString(8, failure.getSampleStackTrace());
+    }
+
+    private TaskFailure mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskFailure(rs.getString("fingerprint"), rs.getString("job_key"),
+                rs.getString("exception_class"), rs.getString("error_message"),
+                rs.getLong("occurrence_count"), rs.getTimestamp("first_seen"),
+                rs.getTimestamp("last_seen"), rs.getString("sample_stack_trace"));
+    }
+
+    private static final String COLUMNS = "fingerprint, job_key, exception_class, error_message, occurrence_count, first_seen, last_seen, sample_stack_trace";
+    private static final String INSERT_SQL = "INSERT INTO quartz_task_failure (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MYSQL_UPSERT_SQL = INSERT_SQL
+            + " ON DUPLICATE KEY UPDATE occurrence_count = occurrence_count + VALUES(occurrence_count), last_seen = GREATEST(last_seen, VALUES(last_seen)), error_message = VALUES(error_message)";
+    private static final String POSTGRESQL_UPSERT_SQL = INSERT_SQL
+            + " ON CONFLICT (fingerprint) DO UPDATE SET occurrence_count = quartz_task_failure.occurrence_count + EXCLUDED.occurrence_count, last_seen = GREATEST(quartz_task_failure.last_seen, EXCLUDED.last_seen), error_message = EXCLUDED.error_message";
+    private static final String UPDATE_SQL = "UPDATE quartz_task_failure SET occurrence_count = occurrence_count + ?, last_seen = ?, error_message = ? WHERE fingerprint = ?";
+    private static final String SELECT_SQL = "SELECT " + COLUMNS + " FROM quartz_task_failure WHERE fingerprint = ?";
+    private static final String SELECT_BY_JOB_SQL = "SELECT " + COLUMNS + " FROM quartz_task_failure WHERE job_key = ? ORDER BY last_seen DESC LIMIT ?";
+
+}
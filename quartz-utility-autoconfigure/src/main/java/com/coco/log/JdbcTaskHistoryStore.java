@@ -0,0 +1,131 @@
+package com.coco.log;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * 任务执行历史存储，quartz_task_history 表只追加不更新。
+ * 表按 start_time 设计，可以在 MySQL、PostgreSQL 上按时间范围分区；
+ * 查询按 (start_time, id) 做键集分页并逐行回调，不会把结果一次性加载到内存。
+ */
+public class JdbcTaskHistoryStore {
+
+    private final JdbcTemplate quartzJdbcTemplate;
+
+    public JdbcTaskHistoryStore(JdbcTemplate quartzJdbcTemplate) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+    }
+
+    /**
+     * 追加一条执行历史。
+     *
+     * @param record 任务日志记录
+     */
+    public void append(TaskLogRecord record) {
+        quartzJdbcTemplate.update(INSERT_SQL, ps -> setValues(ps, record));
+    }
+
+    /**
+     * 批量追加执行历史。
+     *
+     * @param records 任务日志记录
+     */
+    public void appendAll(List<TaskLogRecord> records) {
+        quartzJdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::setValues);
+    }
+
+    /**
+     * 删除一批早于指定时间的历史记录，按 start_time 顺序每次最多删除 chunkSize 行，避免一次大删除长时间锁表。
+     *
+     * @param before    删除早于该时间的记录
+     * @param chunkSize 单批最多删除的行数
+     * @return 实际删除的行数，小于 chunkSize 表示已经没有需要删除的记录
+     */
+    public int purgeChunk(Timestamp before, int chunkSize) {
+        List<Long> ids = quartzJdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class, before,
+                chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(before);
+        args.addAll(ids);
+        quartzJdbcTemplate.update(DELETE_SQL_PREFIX + placeholders + ")", args.toArray());
+        return ids.size();
+    }
+
+    /**
+     * 流式读取某个任务在时间范围内的执行历史，按 (start_time, id) 升序键集分页。
+     * 每一页只保留在结果集中，逐行交给 handler 处理。
+     *
+     * @param jobKey   job 标识
+     * @param from     开始时间（包含）
+     * @param to       结束时间（不包含）
+     * @param pageSize 每页行数
+     * @param handler  行回调
+     */
+    public void streamHistory(String jobKey, Timestamp from, Timestamp to, int pageSize,
+            RowCallbackHandler handler) {
+        KeysetCursor cursor = new KeysetCursor(handler);
+        // 第一页从 from 开始
+        quartzJdbcTemplate.query(FIRST_PAGE_SQL, cursor, jobKey, from, to, pageSize);
+        while (cursor.rows == pageSize) {
+            Timestamp lastStartTime = cursor.lastStartTime;
+            long lastId = cursor.lastId;
+            cursor.rows = 0;
+            quartzJdbcTemplate.query(NEXT_PAGE_SQL, cursor, jobKey, lastStartTime, lastStartTime,
+                    lastId, to, pageSize);
+        }
+    }
+
+    private void setValues(PreparedStatement ps, TaskLogRecord record) throws SQLException {
+        ps.setString(1, record.getJobKey());
+        ps.setString(2, record.getTriggerKey());
+        ps.setString(3, record.getFireInstanceId());
+        ps.setString(4, record.getNodeId());
+        ps.setByte(5, record.getExecState());
+        ps.setString(6, record.getErrorMessage());
+        ps.setTimestamp(7, record.getStartTime());
+        ps.setTimestamp(8, record.getEndTime());
+        ps.setLong(9, record.getDurationMillis());
+    }
+
+    /**
+     * 记录每页最后一行的键值，供下一页查询使用。
+     */
+    private static class KeysetCursor implements RowCallbackHandler {
+
+        private final RowCallbackHandler delegate;
+        private int rows;
+        private Timestamp lastStartTime;
+        private long lastId;
+
+        private KeysetCursor(RowCallbackHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            delegate.processRow(rs);
+            rows++;
+            lastStartTime = rs.getTimestamp("start_time");
+            lastId = rs.getLong("id");
+        }
+    }
+
+    private static final String COLUMNS = "id, job_key, trigger_key, fire_instance_id, node_id, exec_state, error_message, start_time, end_time, duration_ms";
+    private static final String INSERT_SQL = "INSERT INTO quartz_task_history (job_key, trigger_key, fire_instance_id, node_id, exec_state, error_message, start_time, end_time, duration_ms) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_EXPIRED_SQL = "SELECT id FROM quartz_task_history WHERE start_time < ? ORDER BY start_time LIMIT ?";
+    private static final String DELETE_SQL_PREFIX = "DELETE FROM quartz_task_history WHERE start_time < ? AND id IN (";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM quartz_task_history WHERE job_key = ? AND start_time >= ? AND start_time < ? ORDER BY start_time, id LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM quartz_task_history WHERE job_key = ? AND (start_time > ? OR (start_time = ? AND id > ?)) AND start_time < ? ORDER BY start_time, id LIMIT ?";
+
+}
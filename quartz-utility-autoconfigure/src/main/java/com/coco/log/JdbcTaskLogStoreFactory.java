@@ -0,0 +1,48 @@
+package com.coco.log;
+
+import java.sql.DatabaseMetaData;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+public class JdbcTaskLogStoreFactory {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(JdbcTaskLogStoreFactory.class.getName());
+
+    /**
+     * 根据数据源元数据识别数据库类型，创建对应方言的任务日志存储。
+     *
+     * @param quartzJdbcTemplate 写日志使用的 JdbcTemplate
+     * @return MySQL、PostgreSQL、H2 返回单语句 upsert 实现，其他数据库返回通用实现。
+     */
+    public static TaskLogStore create(JdbcTemplate quartzJdbcTemplate) {
+        return switch (getDatabaseDriver(quartzJdbcTemplate.getDataSource())) {
+            case MYSQL, MARIADB -> new MySqlTaskLogStore(quartzJdbcTemplate);
+            case POSTGRESQL -> new PostgreSqlTaskLogStore(quartzJdbcTemplate);
+            case H2 -> new H2TaskLogStore(quartzJdbcTemplate);
+            default -> new GenericJdbcTaskLogStore(quartzJdbcTemplate);
+        };
+    }
+
+    /**
+     * 读取数据源的数据库产品名称并转换为 DatabaseDriver。
+     *
+     * @param dataSource 数据源
+     * @return 识别失败时返回 DatabaseDriver.UNKNOWN
+     */
+    public static DatabaseDriver getDatabaseDriver(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return DatabaseDriver.fromProductName(productName);
+        } catch (MetaDataAccessException e) {
+            logger.log(Level.WARNING, "Unable to detect database type: " + e.getMessage(), e);
+            return DatabaseDriver.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.coco.log;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 分片任务执行状态存储，quartz_task_shard 表中每次分片执行一行。
+ * 每个分片完成时在事务中累加完成数，UPDATE 持有的行锁让分片依次提交，
+ * 只有完成数达到分片总数的那个分片会读到完整结果并删除该行，由它写入汇总日志。
+ * 超时未完成的执行由 ShardRunSweeper 通过 expire 删除并按失败写入汇总日志，之后完成的分片不再计入。
+ */
+public class JdbcTaskShardStore {
+
+    private final JdbcTemplate quartzJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcTaskShardStore(JdbcTemplate quartzJdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 创建一次分片执行。
+     *
+     * @param runId      分片执行标识
+     * @param jobKey     job 标识
+     * @param triggerKey 发起分片的 trigger 标识，汇总日志使用该标识
+     * @param shardTotal 分片总数
+     * @param startTime  发起分片的时间
+     */
+    public void create(String runId, String jobKey, String triggerKey, int shardTotal,
+            Timestamp startTime) {
+        quartzJdbcTemplate.update(INSERT_SQL, runId, jobKey, triggerKey, shardTotal, startTime);
+    }
+
+    /**
+     * 记录一个分片完成。已处于事务中时加入该事务，否则开启新的事务。
+     *
+     * @param runId        分片执行标识
+     * @param failed       分片是否失败
+     * @param errorMessage 分片的错误信息，只保留第一个失败分片的错误信息
+     * @return 本分片是最后一个完成的分片时返回汇总结果，否则返回 null
+     */
+    public ShardRun complete(String runId, boolean failed, String errorMessage) {
+        return transactionTemplate.execute(status -> {
+            int updated = quartzJdbcTemplate.update(COMPLETE_SQL, failed ? 1 : 0, errorMessage,
+                    runId);
+            if (updated == 0) {
+                return null;
+            }
+            ShardRun shardRun = queryShardRun(SELECT_SQL, runId);
+            if (shardRun == null || shardRun.getCompleted() < shardRun.getShardTotal()) {
+                return null;
+            }
+            quartzJdbcTemplate.update(DELETE_SQL, runId);
+            return shardRun;
+        });
+    }
+
+    /**
+     * 删除一次分片执行，用于发起分片失败时撤销状态行。
+     *
+     * @param runId 分片执行标识
+     */
+    public void delete(String runId) {
+        quartzJdbcTemplate.update(DELETE_SQL, runId);
+    }
+
+    /**
+     * 查找发起时间早于 before 且仍未完成的分片执行。
+     *
+     * @param before 发起时间上限
+     * @return 分片执行标识
+     */
+    public List<String> findStale(Timestamp before) {
+        return quartzJdbcTemplate.queryForList(SELECT_STALE_SQL, String.class, before);
+    }
+
+    /**
+     * 结束一次未完成的分片执行。已处于事务中时加入该事务，否则开启新的事务。
+     * 先锁定再删除状态行，与 complete 互斥；多个节点同时结束同一次执行时只有一个节点能删除成功。
+     *
+     * @param runId 分片执行标识
+     * @return 由本次调用结束时返回当前的汇总结果，执行已经完成或已被结束时返回 null
+     */
+    public ShardRun expire(String runId) {
+        return transactionTemplate.execute(status -> {
+            ShardRun shardRun = queryShardRun(SELECT_FOR_UPDATE_SQL, runId);
+            if (shardRun == null || quartzJdbcTemplate.update(DELETE_SQL, runId) == 0) {
+                return null;
+            }
+            return shardRun;
+        });
+    }
+
+    private ShardRun queryShardRun(String sql, String runId) {
+        List<ShardRun> shardRuns = quartzJdbcTemplate.query(sql,
+                (rs, rowNum) -> new ShardRun(runId, rs.getString("job_key"),
+                        rs.getString("trigger_key"), rs.getInt("shard_total"),
+                        rs.getInt("completed"), rs.getInt("failed"),
+                        rs.getString("error_message"), rs.getTimestamp("start_time")),
+                runId);
+        return shardRuns.isEmpty() ? null : shardRuns.get(0);
+    }
+
+    /**
+     * 一次分片执行的汇总结果。
+     */
+    public static class ShardRun {
+
+        private final String runId;
+        private final String jobKey;
+        private final String triggerKey;
+        private final int shardTotal;
+        private final int completed;
+        private final int failed;
+        private final String errorMessage;
+        private final Timestamp startTime;
+
+        private ShardRun(String runId, String jobKey, String triggerKey, int shardTotal,
+                int completed, int failed, String errorMessage, Timestamp startTime) {
+            this.runId = runId;
+            this.jobKey = jobKey;
+            this.triggerKey = triggerKey;
+            this.shardTotal = shardTotal;
+            this.completed = completed;
+            this.failed = failed;
+            this.errorMessage = errorMessage;
+            this.startTime = startTime;
+        }
+
+        public String getRunId() {
+            return runId;
+        }
+
+        public String getJobKey() {
+            return jobKey;
+        }
+
+        public String getTriggerKey() {
+            return triggerKey;
+        }
+
+        public int getShardTotal() {
+            return shardTotal;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public Timestamp getStartTime() {
+            return startTime;
+        }
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO quartz_task_shard (run_id, job_key, trigger_key, shard_total, completed, failed, start_time) VALUES (?, ?, ?, ?, 0, 0, ?)";
+    private static final String COMPLETE_SQL = "UPDATE quartz_task_shard SET completed = completed + 1, failed = failed + ?, error_message = COALESCE(error_message, ?) WHERE run_id = ?";
+    private static final String SELECT_SQL = "SELECT job_key, trigger_key, shard_total, completed, failed, error_message, start_time FROM quartz_task_shard WHERE run_id = ?";
+    private static final String SELECT_FOR_UPDATE_SQL = SELECT_SQL + " FOR UPDATE";
+    private static final String SELECT_STALE_SQL = "SELECT run_id FROM quartz_task_shard WHERE start_time < ?";
+    private static final String DELETE_SQL = "DELETE FROM quartz_task_shard WHERE run_id = ?";
+
+}
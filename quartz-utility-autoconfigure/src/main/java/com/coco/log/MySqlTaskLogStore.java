@@ -0,0 +1,22 @@
+package com.coco.log;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * MySQL / MariaDB 任务日志存储，使用 ON DUPLICATE KEY UPDATE。
+ */
+public class MySqlTaskLogStore extends AbstractJdbcTaskLogStore {
+
+    public MySqlTaskLogStore(JdbcTemplate quartzJdbcTemplate) {
+        super(quartzJdbcTemplate);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return UPSERT_SQL;
+    }
+
+    private static final String UPSERT_SQL = "INSERT INTO quartz_task_log (job_key, trigger_key, exec_state, error_message, execute_time) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE exec_state = VALUES(exec_state), error_message = VALUES(error_message), execute_time = VALUES(execute_time)";
+
+}
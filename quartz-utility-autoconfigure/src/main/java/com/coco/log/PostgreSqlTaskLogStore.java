@@ -0,0 +1,22 @@
+package com.coco.log;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * PostgreSQL 任务日志存储，使用 ON CONFLICT DO UPDATE。
+ */
+public class PostgreSqlTaskLogStore extends AbstractJdbcTaskLogStore {
+
+    public PostgreSqlTaskLogStore(JdbcTemplate quartzJdbcTemplate) {
+        super(quartzJdbcTemplate);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return UPSERT_SQL;
+    }
+
+    private static final String UPSERT_SQL = "INSERT INTO quartz_task_log (job_key, trigger_key, exec_state, error_message, execute_time) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (job_key, trigger_key) DO UPDATE SET exec_state = EXCLUDED.exec_state, error_message = EXCLUDED.error_message, execute_time = EXCLUDED.execute_time";
+
+}
@@ -0,0 +1,72 @@
+package com.coco.log;
+
+import java.sql.Timestamp;
+
+/**
+ * 一类任务失败的汇总，对应 quartz_task_failure 表中的一行。
+ * 同一个任务、相同异常链和相同栈顶的失败归为一类，只累加次数并更新最后出现时间。
+ */
+public class TaskFailure {
+
+    // 失败指纹，quartz_task_log.error_message 引用该值
+    private final String fingerprint;
+    // job 标识
+    private final String jobKey;
+    // 异常类名
+    private final String exceptionClass;
+    // 最近一次的错误信息
+    private final String errorMessage;
+    // 出现次数，写入时为本批次新增的次数
+    private final long occurrenceCount;
+    // 第一次出现时间
+    private final Timestamp firstSeen;
+    // 最后一次出现时间
+    private final Timestamp lastSeen;
+    // 截断后的栈信息样本
+    private final String sampleStackTrace;
+
+    public TaskFailure(String fingerprint, String jobKey, String exceptionClass,
+            String errorMessage, long occurrenceCount, Timestamp firstSeen, Timestamp lastSeen,
+            String sampleStackTrace) {
+        this.fingerprint = fingerprint;
+        this.jobKey = jobKey;
+        this.exceptionClass = exceptionClass;
+        this.errorMessage = errorMessage;
+        this.occurrenceCount = occurrenceCount;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+        this.sampleStackTrace = sampleStackTrace;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public String getExceptionClass() {
+        return exceptionClass;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public long getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public Timestamp getFirstSeen() {
+        return firstSeen;
+    }
+
+    public Timestamp getLastSeen() {
+        return lastSeen;
+    }
+
+    public String getSampleStackTrace() {
+        return sampleStackTrace;
+    }
+}
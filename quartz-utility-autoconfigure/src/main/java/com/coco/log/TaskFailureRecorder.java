@@ -0,0 +1,216 @@
+package com.coco.log;
+
+import com.coco.exception.QuartzUtilityException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobKey;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 任务失败指纹记录器。
+ * 失败按 job 标识、异常链上的异常类和根异常栈顶若干帧（不含行号和错误信息）计算指纹，
+ * 同一时间窗口内相同指纹的失败在内存中合并计数，后台线程按 flushInterval 批量写入 quartz_task_failure，
+ * 任务日志中只保存指纹。持续失败的任务每个窗口只写一行汇总，不再每次覆盖完整的错误信息。
+ * 生命周期阶段与 AsyncTaskLogWriter 相同，容器关闭时在调度器停止之后写入剩余的计数。
+ */
+public class TaskFailureRecorder implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(TaskFailureRecorder.class.getName());
+
+    // 比调度器（SchedulerFactoryBean 默认 Integer.MAX_VALUE）先启动、后停止
+    private static final int PHASE = Integer.MAX_VALUE - 1024;
+    // quartz_task_failure.error_message 的最大长度
+    private static final int MAX_MESSAGE_LENGTH = 512;
+
+    private final JdbcTaskFailureStore taskFailureStore;
+    private final int stackFrames;
+    private final int sampleMaxLength;
+    private final Duration flushInterval;
+    // 等待写入的失败汇总，按指纹合并
+    private final ConcurrentMap<String, PendingFailure> pendingFailures = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public TaskFailureRecorder(JdbcTaskFailureStore taskFailureStore, int stackFrames,
+            int sampleMaxLength, Duration flushInterval) {
+        this.taskFailureStore = taskFailureStore;
+        this.stackFrames = stackFrames;
+        this.sampleMaxLength = sampleMaxLength;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * 记录一次失败。记录器未运行时立即写入。
+     *
+     * @param jobKey    job 标识
+     * @param throwable 任务抛出的异常
+     * @return 失败指纹
+     */
+    public String record(JobKey jobKey, Throwable throwable) {
+        String fingerprint = fingerprint(jobKey, throwable, stackFrames);
+        long now = System.currentTimeMillis();
+        String errorMessage = truncate(throwable.getMessage(), MAX_MESSAGE_LENGTH);
+        pendingFailures.compute(fingerprint, (key, pending) -> {
+            if (pending == null) {
+                // 栈信息样本只在每个窗口第一次出现时生成
+                return new PendingFailure(jobKey.toString(), throwable.getClass().getName(),
+                        errorMessage, now, truncate(getStackTrace(throwable), sampleMaxLength));
+            }
+            pending.occurrenceCount++;
+            pending.lastSeen = now;
+            pending.errorMessage = errorMessage;
+            return pending;
+        });
+        if (!running) {
+            flush();
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 把内存中合并的失败计数写入数据库。
+     */
+    public void flush() {
+        List<TaskFailure> failures = new ArrayList<>();
+        for (String fingerprint : pendingFailures.keySet()) {
+            PendingFailure pending = pendingFailures.remove(fingerprint);
+            if (pending != null) {
+                failures.add(new TaskFailure(fingerprint, pending.jobKey, pending.exceptionClass,
+                        pending.errorMessage, pending.occurrenceCount,
+                        new Timestamp(pending.firstSeen), new Timestamp(pending.lastSeen),
+                        pending.sampleStackTrace));
+            }
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        try {
+            taskFailureStore.saveAll(failures);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Write task failures error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 计算失败指纹。
+     *
+     * @param jobKey      job 标识
+     * @param throwable   任务抛出的异常
+     * @param stackFrames 参与计算的根异常栈顶帧数
+     * @return 十六进制 SHA-256 摘要的前 32 位
+     */
+    public static String fingerprint(JobKey jobKey, Throwable throwable, int stackFrames) {
+        StringBuilder content = new StringBuilder().append(jobKey).append('\n');
+        Throwable root = throwable;
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            content.append(cause.getClass().getName()).append('\n');
+            root = cause;
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        StackTraceElement[] stackTrace = root.getStackTrace();
+        for (int i = 0; i < Math.min(stackFrames, stackTrace.length); i++) {
+            content.append(stackTrace[i].getClassName()).append('#')
+                    .append(stackTrace[i].getMethodName()).append('\n');
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(
+                    content.toString().getBytes(StandardCharsets.UTF_8))).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new QuartzUtilityException("SHA-256 is not available", e,
+                    QuartzUtilityException.PARAMETER_ABNORMAL);
+        }
+    }
+
+    private static String getStackTrace(Throwable throwable) {
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quartz-task-failure-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(),
+                flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 一个窗口内合并的失败计数，只在 ConcurrentHashMap.compute 中修改。
+     */
+    private static class PendingFailure {
+
+        private final String jobKey;
+        private final String exceptionClass;
+        private final long firstSeen;
+        private final String sampleStackTrace;
+        private String errorMessage;
+        private long occurrenceCount = 1;
+        private long lastSeen;
+
+        private PendingFailure(String jobKey, String exceptionClass, String errorMessage,
+                long firstSeen, String sampleStackTrace) {
+            this.jobKey = jobKey;
+            this.exceptionClass = exceptionClass;
+            this.errorMessage = errorMessage;
+            this.firstSeen = firstSeen;
+            this.lastSeen = firstSeen;
+            this.sampleStackTrace = sampleStackTrace;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.coco.log;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 执行历史保留期清理器。
+ * 后台线程按固定间隔删除超出保留期的历史记录，每批删除 chunkSize 行，批次之间暂停一段时间，
+ * 避免一次性大删除占用锁和产生大事务。按时间分区的表也可以直接删除过期分区代替。
+ */
+public class TaskHistoryPurger implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(TaskHistoryPurger.class.getName());
+
+    private final JdbcTaskHistoryStore taskHistoryStore;
+    private final Duration retention;
+    private final Duration purgeInterval;
+    private final int chunkSize;
+    private final Duration chunkPause;
+
+    private volatile boolean running;
+    // 容器关闭时置为 true，正在进行的清理在当前批次之后结束；未启动时直接调用 purge 仍会删除所有过期记录
+    private volatile boolean stopping;
+    private ScheduledExecutorService executor;
+
+    public TaskHistoryPurger(JdbcTaskHistoryStore taskHistoryStore, Duration retention,
+            Duration purgeInterval, int chunkSize, Duration chunkPause) {
+        this.taskHistoryStore = taskHistoryStore;
+        this.retention = retention;
+        this.purgeInterval = purgeInterval;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+    }
+
+    /**
+     * 删除所有超出保留期的历史记录。
+     *
+     * @return 删除的总行数
+     */
+    public long purge() {
+        Timestamp before = new Timestamp(System.currentTimeMillis() - retention.toMillis());
+        long total = 0;
+        int deleted;
+        do {
+            deleted = taskHistoryStore.purgeChunk(before, chunkSize);
+            total += deleted;
+            if (deleted == chunkSize && !chunkPause.isZero()) {
+                try {
+                    Thread.sleep(chunkPause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (deleted == chunkSize && !stopping);
+        return total;
+    }
+
+    private void purgeQuietly() {
+        try {
+            long total = purge();
+            if (total > 0) {
+                logger.info("Purged " + total + " task history records.");
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Purge task history error: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        stopping = false;
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quartz-task-history-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::purgeQuietly, purgeInterval.toMillis(),
+                purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        stopping = true;
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
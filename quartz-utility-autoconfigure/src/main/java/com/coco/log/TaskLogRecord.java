@@ -0,0 +1,148 @@
+package com.coco.log;
+
+import java.sql.Timestamp;
+
+/**
+ * 一次任务执行的日志记录，对应 quartz_task_log 表中的一行，开启执行历史时同时对应 quartz_task_history 表中的一行。
+ */
+public class TaskLogRecord {
+
+    // job 标识
+    private final String jobKey;
+    // trigger 标识
+    private final String triggerKey;
+    // 执行状态
+    private final byte execState;
+    // 错误信息
+    private final String errorMessage;
+    // 执行时间
+    private final Timestamp executeTime;
+    // 开始执行时间
+    private final Timestamp startTime;
+    // 结束执行时间
+    private final Timestamp endTime;
+    // 执行节点，即调度器实例 ID
+    private final String nodeId;
+    // 本次触发的实例 ID
+    private final String fireInstanceId;
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public String getTriggerKey() {
+        return triggerKey;
+    }
+
+    public byte getExecState() {
+        return execState;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Timestamp getExecuteTime() {
+        return executeTime;
+    }
+
+    public Timestamp getStartTime() {
+        return startTime;
+    }
+
+    public Timestamp getEndTime() {
+        return endTime;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getFireInstanceId() {
+        return fireInstanceId;
+    }
+
+    /**
+     * @return 执行耗时（毫秒），未记录开始时间时返回 0
+     */
+    public long getDurationMillis() {
+        if (startTime == null || endTime == null) {
+            return 0;
+        }
+        return endTime.getTime() - startTime.getTime();
+    }
+
+    private TaskLogRecord(Builder builder) {
+        this.jobKey = builder.jobKey;
+        this.triggerKey = builder.triggerKey;
+        this.execState = builder.execState;
+        this.errorMessage = builder.errorMessage;
+        this.executeTime = builder.executeTime;
+        this.startTime = builder.startTime;
+        this.endTime = builder.endTime;
+        this.nodeId = builder.nodeId;
+        this.fireInstanceId = builder.fireInstanceId;
+    }
+
+    public static class Builder {
+
+        private String jobKey;
+        private String triggerKey;
+        private byte execState;
+        private String errorMessage;
+        private Timestamp executeTime;
+        private Timestamp startTime;
+        private Timestamp endTime;
+        private String nodeId;
+        private String fireInstanceId;
+
+        public Builder setJobKey(String jobKey) {
+            this.jobKey = jobKey;
+            return this;
+        }
+
+        public Builder setTriggerKey(String triggerKey) {
+            this.triggerKey = triggerKey;
+            return this;
+        }
+
+        public Builder setExecState(byte execState) {
+            this.execState = execState;
+            return this;
+        }
+
+        public Builder setErrorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public Builder setExecuteTime(Timestamp executeTime) {
+            this.executeTime = executeTime;
+            return this;
+        }
+
+        public Builder setStartTime(Timestamp startTime) {
+            this.startTime = startTime;
+            return this;
+        }
+
+        public Builder setEndTime(Timestamp endTime) {
+            this.endTime = endTime;
+            return this;
+        }
+
+        public Builder setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        public Builder setFireInstanceId(String fireInstanceId) {
+            this.fireInstanceId = fireInstanceId;
+            return this;
+        }
+
+        public TaskLogRecord build() {
+            return new TaskLogRecord(this);
+        }
+    }
+}
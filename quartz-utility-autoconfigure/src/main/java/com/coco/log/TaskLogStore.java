@@ -0,0 +1,25 @@
+package com.coco.log;
+
+import java.util.List;
+
+/**
+ * 任务日志存储 SPI。
+ * 默认由 {@link JdbcTaskLogStoreFactory} 按数据源类型创建 JDBC 实现，
+ * 容器中存在自定义的 TaskLogStore Bean 时使用自定义实现，可接入非 JDBC 的存储。
+ */
+public interface TaskLogStore {
+
+    /**
+     * 写入一条任务日志，(job_key, trigger_key) 已存在时覆盖为最新状态。
+     *
+     * @param record 任务日志记录
+     */
+    void save(TaskLogRecord record);
+
+    /**
+     * 批量写入任务日志，语义与 {@link #save(TaskLogRecord)} 相同。
+     *
+     * @param records 任务日志记录，同一批次内 (job_key, trigger_key) 不重复
+     */
+    void saveAll(List<TaskLogRecord> records);
+}
@@ -0,0 +1,369 @@
+package com.coco.log;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * 任务最新执行状态查询。
+ * quartz_task_log 的内容按 (job_key, trigger_key) 排序缓存在内存中，本节点写入的日志经 {@link CachingTaskLogStore} 立即更新缓存，
+ * 其他节点写入的日志由后台线程同步：每个 refreshInterval 读取 execute_time 晚于已读到的最大执行时间（减去一个刷新间隔的回看窗口）的行，
+ * 每个 fullRefreshInterval 整表重新加载一次，补上提交晚于回看窗口的行并去掉已删除的行。查询只读内存，不会在读请求上刷新。
+ * 第一次加载完成之前，以及表的行数超过 maxSize 时缓存只保留前 maxSize 行，未命中的单条查询、按组查询和分页查询改为直接查询数据库。
+ */
+public class TaskStatusService implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(TaskStatusService.class.getName());
+
+    // 整表刷新时每页读取的行数
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate quartzJdbcTemplate;
+    private final int maxSize;
+    private final long refreshIntervalMillis;
+    private final long fullRefreshIntervalMillis;
+    // 缓存中的行数，ConcurrentSkipListMap.size() 需要遍历整个 Map
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile ConcurrentSkipListMap<StatusKey, TaskLogRecord> statuses =
+            new ConcurrentSkipListMap<>();
+    // 缓存是否包含整张表，第一次加载完成之前为 false
+    private volatile boolean complete;
+    // 最近一次整表刷新开始的时间，0 表示尚未加载
+    private volatile long loadedAt;
+    // 从数据库读到的最大执行时间，增量刷新从这里开始
+    private volatile long lastSeen;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+    // 用于区分同一前缀的任务组，可以为 null
+    private Scheduler scheduler;
+    // 调度器中的任务组名，尚未读取时为 null
+    private volatile List<String> jobGroups;
+
+    /**
+     * @param quartzJdbcTemplate        日志数据源
+     * @param maxSize                   缓存的最大行数
+     * @param refreshIntervalMillis     增量刷新间隔
+     * @param fullRefreshIntervalMillis 整表刷新间隔
+     */
+    public TaskStatusService(JdbcTemplate quartzJdbcTemplate, int maxSize,
+            long refreshIntervalMillis, long fullRefreshIntervalMillis) {
+        this.quartzJdbcTemplate = quartzJdbcTemplate;
+        this.maxSize = maxSize;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.fullRefreshIntervalMillis = fullRefreshIntervalMillis;
+    }
+
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 查询一个触发器的最新执行状态，缓存不包含整张表且未命中时查询数据库。
+     *
+     * @param jobKey     job 标识
+     * @param triggerKey trigger 标识
+     * @return 从未执行过时返回 null
+     */
+    public TaskLogRecord getStatus(JobKey jobKey, TriggerKey triggerKey) {
+        StatusKey key = new StatusKey(jobKey.toString(), triggerKey.toString());
+        TaskLogRecord record = statuses.get(key);
+        if (record != null || complete) {
+            return record;
+        }
+        List<TaskLogRecord> records = quartzJdbcTemplate.query(SELECT_SQL, this::mapRow,
+                key.jobKey, key.triggerKey);
+        if (records.isEmpty()) {
+            return null;
+        }
+        update(records.get(0));
+        return records.get(0);
+    }
+
+    /**
+     * 查询一个任务组中所有触发器的最新执行状态，按 (job_key, trigger_key) 排序。
+     * job_key 为 JobKey.toString() 即 group.name，以 group. 开头的也可能是 group.sub 这样的子组中的任务，
+     * 设置了调度器时，属于调度器中已存在的更长组名的行会被排除，组名随缓存一起由后台线程刷新。
+     *
+     * @param group job 组名
+     * @return 最新执行状态
+     */
+    public List<TaskLogRecord> getStatusesByGroup(String group) {
+        List<TaskLogRecord> records;
+        if (!complete) {
+            records = quartzJdbcTemplate.query(SELECT_BY_GROUP_SQL, this::mapRow,
+                    escapeLike(group) + ".%");
+        } else {
+            // 组名之后的 '.' 的下一个字符是 '/'
+            records = new ArrayList<>(statuses.subMap(new StatusKey(group + ".", ""), true,
+                    new StatusKey(group + "/", ""), false).values());
+        }
+        List<String> nestedGroupPrefixes = getNestedGroupPrefixes(group);
+        if (!nestedGroupPrefixes.isEmpty()) {
+            records.removeIf(record -> nestedGroupPrefixes.stream()
+                    .anyMatch(prefix -> record.getJobKey().startsWith(prefix)));
+        }
+        return records;
+    }
+
+    /**
+     * 获取调度器中以 group. 开头的其他组名，加上 '.' 后返回。
+     */
+    private List<String> getNestedGroupPrefixes(String group) {
+        if (scheduler != null && jobGroups == null) {
+            refreshJobGroups();
+        }
+        List<String> prefixes = new ArrayList<>();
+        for (String jobGroup : jobGroups == null ? List.<String>of() : jobGroups) {
+            if (jobGroup.startsWith(group + ".")) {
+                prefixes.add(jobGroup + ".");
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * 从调度器重新读取任务组名。
+     */
+    private void refreshJobGroups() {
+        try {
+            jobGroups = List.copyOf(scheduler.getJobGroupNames());
+        } catch (SchedulerException e) {
+            logger.log(Level.WARNING, "Get job group names error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按 (job_key, trigger_key) 升序分页查询最新执行状态。
+     *
+     * @param afterJobKey     上一页最后一行的 job_key，查询第一页时为 null
+     * @param afterTriggerKey 上一页最后一行的 trigger_key，查询第一页时为 null
+     * @param limit           每页行数
+     * @return 一页最新执行状态，少于 limit 行表示已经是最后一页
+     */
+    public List<TaskLogRecord> listStatuses(String afterJobKey, String afterTriggerKey,
+            int limit) {
+        if (!complete) {
+            return afterJobKey == null
+                    ? quartzJdbcTemplate.query(FIRST_PAGE_SQL, this::mapRow, limit)
+                    : quartzJdbcTemplate.query(NEXT_PAGE_SQL, this::mapRow, afterJobKey,
+                            afterJobKey, afterTriggerKey, limit);
+        }
+        NavigableMap<StatusKey, TaskLogRecord> page = afterJobKey == null ? statuses
+                : statuses.tailMap(new StatusKey(afterJobKey, afterTriggerKey), false);
+        List<TaskLogRecord> records = new ArrayList<>();
+        for (TaskLogRecord record : page.values()) {
+            if (records.size() >= limit) {
+                break;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * 用一条刚写入的日志更新缓存，执行时间早于缓存中的记录时忽略。
+     *
+     * @param record 任务日志记录
+     */
+    public void update(TaskLogRecord record) {
+        ConcurrentSkipListMap<StatusKey, TaskLogRecord> current = statuses;
+        StatusKey key = new StatusKey(record.getJobKey(), record.getTriggerKey());
+        if (current.containsKey(key)) {
+            current.merge(key, record, TaskStatusService::newer);
+            return;
+        }
+        if (size.get() >= maxSize) {
+            // 缓存已满，新的行只保存在数据库中
+            complete = false;
+            return;
+        }
+        if (current.putIfAbsent(key, record) == null) {
+            size.incrementAndGet();
+        } else {
+            current.merge(key, record, TaskStatusService::newer);
+        }
+    }
+
+    /**
+     * 立即从数据库重新加载整张表。
+     */
+    public synchronized void refresh() {
+        long startedAt = System.currentTimeMillis();
+        ConcurrentSkipListMap<StatusKey, TaskLogRecord> loaded = new ConcurrentSkipListMap<>();
+        List<TaskLogRecord> page = quartzJdbcTemplate.query(FIRST_PAGE_SQL, this::mapRow,
+                Math.min(LOAD_PAGE_SIZE, maxSize + 1));
+        long maxExecuteTime = 0;
+        while (true) {
+            for (TaskLogRecord record : page) {
+                loaded.put(new StatusKey(record.getJobKey(), record.getTriggerKey()), record);
+                maxExecuteTime = Math.max(maxExecuteTime, getExecuteMillis(record));
+            }
+            if (page.size() < LOAD_PAGE_SIZE || loaded.size() > maxSize) {
+                break;
+            }
+            TaskLogRecord last = page.get(page.size() - 1);
+            page = quartzJdbcTemplate.query(NEXT_PAGE_SQL, this::mapRow, last.getJobKey(),
+                    last.getJobKey(), last.getTriggerKey(),
+                    Math.min(LOAD_PAGE_SIZE, maxSize + 1 - loaded.size()));
+        }
+        int loadedSize = loaded.size();
+        boolean loadedComplete = loadedSize <= maxSize;
+        if (!loadedComplete) {
+            loaded.pollLastEntry();
+            loadedSize--;
+        }
+        // 保留刷新期间本节点写入、还没有出现在查询结果中的记录
+        Timestamp since = new Timestamp(startedAt);
+        for (Map.Entry<StatusKey, TaskLogRecord> entry : statuses.entrySet()) {
+            TaskLogRecord record = entry.getValue();
+            if (record.getExecuteTime() == null || record.getExecuteTime().before(since)) {
+                continue;
+            }
+            if (loaded.containsKey(entry.getKey())) {
+                loaded.merge(entry.getKey(), record, TaskStatusService::newer);
+            } else if (loadedSize < maxSize) {
+                loaded.put(entry.getKey(), record);
+                loadedSize++;
+            }
+        }
+        statuses = loaded;
+        size.set(loadedSize);
+        complete = loadedComplete;
+        lastSeen = maxExecuteTime;
+        loadedAt = startedAt;
+    }
+
+    /**
+     * 立即从数据库读取执行时间晚于上次读到的最大执行时间的行，回看一个刷新间隔，补上提交较晚的行。
+     * 尚未整表加载过时改为整表刷新。
+     */
+    public synchronized void refreshChanges() {
+        if (loadedAt == 0) {
+            refresh();
+            return;
+        }
+        long[] maxExecuteTime = {lastSeen};
+        quartzJdbcTemplate.query(SELECT_CHANGED_SQL, (RowCallbackHandler) rs -> {
+            TaskLogRecord record = mapRow(rs, 0);
+            update(record);
+            maxExecuteTime[0] = Math.max(maxExecuteTime[0], getExecuteMillis(record));
+        }, new Timestamp(lastSeen - refreshIntervalMillis));
+        lastSeen = maxExecuteTime[0];
+    }
+
+    private void refreshQuietly() {
+        if (scheduler != null) {
+            refreshJobGroups();
+        }
+        try {
+            if (loadedAt == 0
+                    || System.currentTimeMillis() - loadedAt >= fullRefreshIntervalMillis) {
+                refresh();
+            } else {
+                refreshChanges();
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Refresh task status error: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quartz-task-status-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static TaskLogRecord newer(TaskLogRecord cached, TaskLogRecord record) {
+        if (cached.getExecuteTime() != null && record.getExecuteTime() != null
+                && record.getExecuteTime().before(cached.getExecuteTime())) {
+            return cached;
+        }
+        return record;
+    }
+
+    private static long getExecuteMillis(TaskLogRecord record) {
+        return record.getExecuteTime() == null ? 0 : record.getExecuteTime().getTime();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private TaskLogRecord mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskLogRecord.Builder()
+                .setJobKey(rs.getString("job_key"))
+                .setTriggerKey(rs.getString("trigger_key"))
+                .setExecState(rs.getByte("exec_state"))
+                .setErrorMessage(rs.getString("error_message"))
+                .setExecuteTime(rs.getTimestamp("execute_time"))
+                .build();
+    }
+
+    /**
+     * 缓存键，按 (job_key, trigger_key) 排序。
+     */
+    private static final class StatusKey implements Comparable<StatusKey> {
+
+        private final String jobKey;
+        private final String triggerKey;
+
+        private StatusKey(String jobKey, String triggerKey) {
+            this.jobKey = jobKey;
+            this.triggerKey = triggerKey;
+        }
+
+        @Override
+        public int compareTo(StatusKey other) {
+            int result = jobKey.compareTo(other.jobKey);
+            return result != 0 ? result : triggerKey.compareTo(other.triggerKey);
+        }
+    }
+
+    private static final String COLUMNS = "job_key, trigger_key, exec_state, error_message, execute_time";
+    private static final String SELECT_SQL = "SELECT " + COLUMNS + " FROM quartz_task_log WHERE job_key = ? AND trigger_key = ?";
+    private static final String SELECT_BY_GROUP_SQL = "SELECT " + COLUMNS + " FROM quartz_task_log WHERE job_key LIKE ? ESCAPE '!' ORDER BY job_key, trigger_key";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM quartz_task_log ORDER BY job_key, trigger_key LIMIT ?";
+    private static final String SELECT_CHANGED_SQL = "SELECT " + COLUMNS + " FROM quartz_task_log WHERE execute_time > ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM quartz_task_log WHERE job_key > ? OR (job_key = ? AND trigger_key > ?) ORDER BY job_key, trigger_key LIMIT ?";
+
+}
@@ -0,0 +1,226 @@
+package com.coco.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * 基于 Micrometer 的调度指标。
+ * 每个 JobKey 的计时器只在第一次出现时创建并缓存，之后的记录只做一次哈希查找和 Timer.record，热路径上不分配对象。
+ *
+ * <ul>
+ *     <li>quartz.job.execution：任务执行耗时，标签 group、job</li>
+ *     <li>quartz.job.fire.lag：实际触发时间与计划触发时间之差，标签 group、job</li>
+ *     <li>quartz.job.log.write：同步写日志耗时，标签 group、job</li>
+ *     <li>quartz.job.async.execution：AsyncQuartzJob 从发起到异步结果完成的耗时，标签 group、job</li>
+ *     <li>quartz.trigger.misfires：错过触发次数，包括内存执行引擎跳过的触发，标签 group</li>
+ *     <li>quartz.fastpath.skipped：内存执行引擎因工作线程池已满或上一次执行尚未结束而跳过的触发次数，标签 group、job</li>
+ *     <li>quartz.log.flush：异步批量刷写耗时，quartz.log.flush.size：批次条数</li>
+ *     <li>quartz.pool.active、quartz.pool.size：工作线程池正在执行的任务数和线程池大小</li>
+ * </ul>
+ * Quartz 调度线程只在有空闲工作线程时才获取触发器，不存在排队的任务，线程池饱和表现为 active 等于 size 且触发延迟上升。
+ */
+public class MicrometerTaskMetrics implements TaskMetricsRecorder, InitializingBean {
+
+    private static final String LISTENER_NAME = "CoQuartzMetricsListener";
+
+    private final MeterRegistry meterRegistry;
+    private final Scheduler scheduler;
+    private final boolean percentileHistogram;
+
+    private final ConcurrentMap<JobKey, JobMeters> jobMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> misfireCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<JobKey, Counter> fastPathSkippedCounters = new ConcurrentHashMap<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final Timer logFlushTimer;
+    private final DistributionSummary logFlushSize;
+
+    public MicrometerTaskMetrics(MeterRegistry meterRegistry, Scheduler scheduler,
+            boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.scheduler = scheduler;
+        this.percentileHistogram = percentileHistogram;
+        this.logFlushTimer = Timer.builder("quartz.log.flush")
+                .description("Task log batch flush time")
+                .register(meterRegistry);
+        this.logFlushSize = DistributionSummary.builder("quartz.log.flush.size")
+                .description("Task log batch flush size")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SchedulerException {
+        Gauge.builder("quartz.pool.active", activeCount, AtomicInteger::get)
+                .description("Jobs currently executing on this node")
+                .register(meterRegistry);
+        Gauge.builder("quartz.pool.size", scheduler, MicrometerTaskMetrics::getThreadPoolSize)
+                .description("Quartz worker thread pool size")
+                .register(meterRegistry);
+        scheduler.getListenerManager().addJobListener(new MetricsJobListener());
+        scheduler.getListenerManager().addTriggerListener(new MetricsTriggerListener());
+        scheduler.getListenerManager().addSchedulerListener(new MetricsSchedulerListener());
+    }
+
+    @Override
+    public void recordLogWrite(JobKey jobKey, long durationNanos) {
+        getJobMeters(jobKey).logWrite.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordAsyncExecution(JobKey jobKey, long durationNanos) {
+        getJobMeters(jobKey).asyncExecution.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFastPathSkipped(JobKey jobKey) {
+        Counter counter = fastPathSkippedCounters.get(jobKey);
+        if (counter == null) {
+            counter = fastPathSkippedCounters.computeIfAbsent(jobKey,
+                    key -> Counter.builder("quartz.fastpath.skipped")
+                            .description("Fast path fires skipped")
+                            .tags("group", key.getGroup(), "job", key.getName())
+                            .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void recordLogFlush(int batchSize, long durationNanos) {
+        logFlushTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        logFlushSize.record(batchSize);
+    }
+
+    private JobMeters getJobMeters(JobKey jobKey) {
+        JobMeters meters = jobMeters.get(jobKey);
+        if (meters == null) {
+            meters = jobMeters.computeIfAbsent(jobKey, JobMeters::new);
+        }
+        return meters;
+    }
+
+    private static double getThreadPoolSize(Scheduler scheduler) {
+        try {
+            return scheduler.getMetaData().getThreadPoolSize();
+        } catch (SchedulerException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 单个任务的指标句柄。
+     */
+    private class JobMeters {
+
+        private final Timer execution;
+        private final Timer fireLag;
+        private final Timer logWrite;
+        private final Timer asyncExecution;
+
+        private JobMeters(JobKey jobKey) {
+            this.execution = Timer.builder("quartz.job.execution")
+                    .description("Job execution time")
+                    .tags("group", jobKey.getGroup(), "job", jobKey.getName())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.fireLag = Timer.builder("quartz.job.fire.lag")
+                    .description("Actual fire time minus scheduled fire time")
+                    .tags("group", jobKey.getGroup(), "job", jobKey.getName())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.logWrite = Timer.builder("quartz.job.log.write")
+                    .description("Task log persistence time")
+                    .tags("group", jobKey.getGroup(), "job", jobKey.getName())
+                    .register(meterRegistry);
+            this.asyncExecution = Timer.builder("quartz.job.async.execution")
+                    .description("Async job completion time")
+                    .tags("group", jobKey.getGroup(), "job", jobKey.getName())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+        }
+
+        private void remove() {
+            meterRegistry.remove(execution);
+            meterRegistry.remove(fireLag);
+            meterRegistry.remove(logWrite);
+            meterRegistry.remove(asyncExecution);
+        }
+    }
+
+    private class MetricsJobListener extends JobListenerSupport {
+
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void jobToBeExecuted(JobExecutionContext context) {
+            activeCount.incrementAndGet();
+            Date scheduledFireTime = context.getScheduledFireTime();
+            if (scheduledFireTime != null) {
+                long lag = context.getFireTime().getTime() - scheduledFireTime.getTime();
+                getJobMeters(context.getJobDetail().getKey()).fireLag
+                        .record(Math.max(lag, 0), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void jobWasExecuted(JobExecutionContext context,
+                JobExecutionException jobException) {
+            activeCount.decrementAndGet();
+            getJobMeters(context.getJobDetail().getKey()).execution
+                    .record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private class MetricsTriggerListener extends TriggerListenerSupport {
+
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void triggerMisfired(Trigger trigger) {
+            String group = trigger.getJobKey().getGroup();
+            Counter counter = misfireCounters.get(group);
+            if (counter == null) {
+                counter = misfireCounters.computeIfAbsent(group,
+                        key -> Counter.builder("quartz.trigger.misfires")
+                                .description("Trigger misfire count")
+                                .tag("group", key)
+                                .register(meterRegistry));
+            }
+            counter.increment();
+        }
+    }
+
+    private class MetricsSchedulerListener extends SchedulerListenerSupport {
+
+        @Override
+        public void jobDeleted(JobKey jobKey) {
+            // 任务删除后移除对应的指标，避免缓存无限增长
+            JobMeters meters = jobMeters.remove(jobKey);
+            if (meters != null) {
+                meters.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.coco.metrics;
+
+import org.quartz.JobKey;
+
+/**
+ * 任务日志写入阶段、异步任务完成阶段和内存执行引擎的指标记录接口。
+ * BaseAbstractQuartzJob、AsyncTaskLogWriter 和 FastPathJobEngine 只依赖该接口，不直接依赖 Micrometer。
+ */
+public interface TaskMetricsRecorder {
+
+    /**
+     * 记录一次同步日志写入的耗时。
+     *
+     * @param jobKey        任务标识
+     * @param durationNanos 耗时（纳秒）
+     */
+    void recordLogWrite(JobKey jobKey, long durationNanos);
+
+    /**
+     * 记录一次异步批量刷写的耗时。
+     *
+     * @param batchSize     批次条数
+     * @param durationNanos 耗时（纳秒）
+     */
+    void recordLogFlush(int batchSize, long durationNanos);
+
+    /**
+     * 记录一次 AsyncQuartzJob 从发起到异步结果完成的耗时。
+     *
+     * @param jobKey        任务标识
+     * @param durationNanos 耗时（纳秒）
+     */
+    void recordAsyncExecution(JobKey jobKey, long durationNanos);
+
+    /**
+     * 记录一次内存执行引擎因工作线程池已满或上一次执行尚未结束而跳过的触发。
+     *
+     * @param jobKey 任务标识
+     */
+    default void recordFastPathSkipped(JobKey jobKey) {
+    }
+}
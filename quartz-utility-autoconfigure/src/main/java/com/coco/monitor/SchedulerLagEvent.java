@@ -0,0 +1,86 @@
+package com.coco.monitor;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 调度滞后事件，由 {@link SchedulerLagMonitor} 在一个采样周期内的触发延迟超过阈值、出现错过触发或调整了线程池大小时发布。
+ * 所有统计值都只包含本节点在该采样周期内的触发。
+ */
+public class SchedulerLagEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    // 最大触发延迟（毫秒）
+    private final long maxLag;
+    // 平均触发延迟（毫秒）
+    private final long averageLag;
+    // 触发次数
+    private final long fireCount;
+    // 错过触发次数
+    private final long misfireCount;
+    // 同时执行的最大任务数
+    private final int activePeak;
+    // 采样时的线程池大小
+    private final int poolSize;
+    // 调整后的线程池大小，未调整时为 -1
+    private final int resizedPoolSize;
+
+    public SchedulerLagEvent(Object source, long maxLag, long averageLag, long fireCount,
+            long misfireCount, int activePeak, int poolSize, int resizedPoolSize) {
+        super(source);
+        this.maxLag = maxLag;
+        this.averageLag = averageLag;
+        this.fireCount = fireCount;
+        this.misfireCount = misfireCount;
+        this.activePeak = activePeak;
+        this.poolSize = poolSize;
+        this.resizedPoolSize = resizedPoolSize;
+    }
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    public long getAverageLag() {
+        return averageLag;
+    }
+
+    public long getFireCount() {
+        return fireCount;
+    }
+
+    public long getMisfireCount() {
+        return misfireCount;
+    }
+
+    public int getActivePeak() {
+        return activePeak;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * 线程池利用率，同时执行的最大任务数与线程池大小之比。
+     */
+    public double getUtilization() {
+        return poolSize > 0 ? (double) activePeak / poolSize : 0;
+    }
+
+    public int getResizedPoolSize() {
+        return resizedPoolSize;
+    }
+
+    public boolean isResized() {
+        return resizedPoolSize >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerLagEvent{maxLag=" + maxLag + ", averageLag=" + averageLag
+                + ", fireCount=" + fireCount + ", misfireCount=" + misfireCount
+                + ", activePeak=" + activePeak + ", poolSize=" + poolSize
+                + ", resizedPoolSize=" + resizedPoolSize + "}";
+    }
+}
@@ -0,0 +1,232 @@
+package com.coco.monitor;
+
+import com.coco.pool.VirtualThreadPool;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 调度滞后监控。
+ * 通过监听器统计本节点每个采样周期内的触发延迟（实际触发时间与计划触发时间之差）、错过触发次数和同时执行的最大任务数，
+ * 最大触发延迟超过 lagThreshold 或出现错过触发时发布 {@link SchedulerLagEvent}。
+ *
+ * <p>开启线程池调整时，线程池利用率达到 utilizationThreshold 且调度滞后，按 resizeStep 扩大并发上限；
+ * 利用率低于 lowUtilization 时按 resizeStep 缩小，始终保持在 [minThreads, maxThreads] 之内。
+ * 只有 VirtualThreadPool 支持运行时调整，SimpleThreadPool 的线程在初始化时创建，使用时只发布事件。
+ */
+public class SchedulerLagMonitor implements SmartLifecycle {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(SchedulerLagMonitor.class.getName());
+
+    private static final String LISTENER_NAME = "CoQuartzLagMonitorListener";
+
+    private final Scheduler scheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration sampleInterval;
+    private final long lagThresholdMillis;
+    private final double utilizationThreshold;
+    private final boolean resizeEnabled;
+    private final int minThreads;
+    private final int maxThreads;
+    private final int resizeStep;
+    private final double lowUtilization;
+
+    // 当前采样周期内的统计，采样时清零
+    private final AtomicLong maxLag = new AtomicLong();
+    private final AtomicLong totalLag = new AtomicLong();
+    private final AtomicLong fireCount = new AtomicLong();
+    private final AtomicLong misfireCount = new AtomicLong();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger activePeak = new AtomicInteger();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public SchedulerLagMonitor(Scheduler scheduler, ApplicationEventPublisher eventPublisher,
+            Duration sampleInterval, Duration lagThreshold, double utilizationThreshold,
+            boolean resizeEnabled, int minThreads, int maxThreads, int resizeStep,
+            double lowUtilization) {
+        this.scheduler = scheduler;
+        this.eventPublisher = eventPublisher;
+        this.sampleInterval = sampleInterval;
+        this.lagThresholdMillis = lagThreshold.toMillis();
+        this.utilizationThreshold = utilizationThreshold;
+        this.resizeEnabled = resizeEnabled;
+        this.minThreads = Math.max(minThreads, 1);
+        this.maxThreads = Math.max(maxThreads, this.minThreads);
+        this.resizeStep = Math.max(resizeStep, 1);
+        this.lowUtilization = lowUtilization;
+    }
+
+    /**
+     * 结束当前采样周期，按统计结果调整线程池并发布事件。
+     *
+     * @return 发布的事件，调度未滞后且未调整线程池时返回 null
+     * @throws SchedulerException 读取调度器信息失败
+     */
+    public SchedulerLagEvent sample() throws SchedulerException {
+        long fires = fireCount.getAndSet(0);
+        long lagSum = totalLag.getAndSet(0);
+        long lagMax = maxLag.getAndSet(0);
+        long misfires = misfireCount.getAndSet(0);
+        // 下一个周期的峰值从当前正在执行的任务数开始
+        int peak = activePeak.getAndSet(activeCount.get());
+        int poolSize = scheduler.getMetaData().getThreadPoolSize();
+        double utilization = poolSize > 0 ? (double) peak / poolSize : 0;
+        boolean lagging = lagMax >= lagThresholdMillis || misfires > 0;
+        int resizedPoolSize = -1;
+        if (resizeEnabled) {
+            resizedPoolSize = resize(poolSize, utilization, lagging);
+        }
+        if (!lagging && resizedPoolSize < 0) {
+            return null;
+        }
+        SchedulerLagEvent event = new SchedulerLagEvent(this, lagMax,
+                fires > 0 ? lagSum / fires : 0, fires, misfires, peak, poolSize,
+                resizedPoolSize);
+        if (lagging) {
+            logger.warning("Scheduler is lagging: " + event);
+        }
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    /**
+     * 调整 VirtualThreadPool 的并发上限。
+     *
+     * @return 调整后的大小，未调整时返回 -1
+     */
+    private int resize(int poolSize, double utilization, boolean lagging) {
+        int target = poolSize;
+        if (lagging && utilization >= utilizationThreshold) {
+            target = Math.min(poolSize + resizeStep, maxThreads);
+        } else if (!lagging && utilization < lowUtilization) {
+            target = Math.max(poolSize - resizeStep, minThreads);
+        }
+        if (target == poolSize) {
+            return -1;
+        }
+        VirtualThreadPool threadPool;
+        try {
+            threadPool = VirtualThreadPool.getInstance(scheduler.getSchedulerName());
+        } catch (SchedulerException e) {
+            return -1;
+        }
+        if (threadPool == null) {
+            return -1;
+        }
+        threadPool.setThreadCount(target);
+        logger.info("Resized virtual thread pool from " + poolSize + " to " + target + ".");
+        return target;
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Sample scheduler lag error: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            scheduler.getListenerManager().addJobListener(new LagJobListener());
+            scheduler.getListenerManager().addTriggerListener(new LagTriggerListener());
+        } catch (SchedulerException e) {
+            throw new IllegalStateException("Register lag monitor listener error", e);
+        }
+        if (resizeEnabled) {
+            try {
+                if (VirtualThreadPool.getInstance(scheduler.getSchedulerName()) == null) {
+                    logger.warning("Thread pool resizing requires VirtualThreadPool, only events will be published.");
+                }
+            } catch (SchedulerException e) {
+                logger.log(Level.WARNING, "Get scheduler name error: " + e.getMessage(), e);
+            }
+        }
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quartz-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::sampleQuietly, sampleInterval.toMillis(),
+                sampleInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            scheduler.getListenerManager().removeJobListener(LISTENER_NAME);
+            scheduler.getListenerManager().removeTriggerListener(LISTENER_NAME);
+        } catch (SchedulerException e) {
+            logger.log(Level.WARNING, "Remove lag monitor listener error: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private class LagJobListener extends JobListenerSupport {
+
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void jobToBeExecuted(JobExecutionContext context) {
+            int active = activeCount.incrementAndGet();
+            activePeak.accumulateAndGet(active, Math::max);
+            Date scheduledFireTime = context.getScheduledFireTime();
+            if (scheduledFireTime != null) {
+                long lag = Math.max(context.getFireTime().getTime() - scheduledFireTime.getTime(), 0);
+                fireCount.incrementAndGet();
+                totalLag.addAndGet(lag);
+                maxLag.accumulateAndGet(lag, Math::max);
+            }
+        }
+
+        @Override
+        public void jobWasExecuted(JobExecutionContext context,
+                JobExecutionException jobException) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    private class LagTriggerListener extends TriggerListenerSupport {
+
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void triggerMisfired(Trigger trigger) {
+            misfireCount.incrementAndGet();
+        }
+    }
+}
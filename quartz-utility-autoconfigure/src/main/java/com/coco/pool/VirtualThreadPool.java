@@ -0,0 +1,223 @@
+package com.coco.pool;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+/**
+ * 基于虚拟线程的 Quartz 线程池，需要 JDK 21 及以上。
+ * 每个任务在一个新的虚拟线程上执行，并发数由信号量限制为 threadCount。
+ * blockForAvailableThreads 在信号量没有许可时阻塞，调度线程只有在有空闲许可时才获取触发器，
+ * 与 SimpleThreadPool 一样对触发器获取形成背压。
+ * 项目以 JDK 17 编译，虚拟线程工厂通过反射创建。
+ *
+ * <p>通过 Quartz 属性配置：org.quartz.threadPool.class=com.coco.pool.VirtualThreadPool，
+ * org.quartz.threadPool.threadCount 为最大并发数。
+ * 初始化后按调度器名称登记，可以通过 getInstance 获取并在运行时调用 setThreadCount 调整并发上限。
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    // 初始化 Java 标准库的日志记录器
+    private static final Logger logger = Logger.getLogger(VirtualThreadPool.class.getName());
+
+    // 按调度器名称登记的线程池，关闭时移除
+    private static final ConcurrentMap<String, VirtualThreadPool> INSTANCES =
+            new ConcurrentHashMap<>();
+
+    private final Object availableLock = new Object();
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private int threadCount = 10;
+    private String threadNamePrefix;
+    private String schedulerInstanceName;
+    private ResizableSemaphore permits;
+    private ThreadFactory threadFactory;
+    private volatile boolean shutdown;
+
+    /**
+     * 设置最大并发数，由 Quartz 根据 org.quartz.threadPool.threadCount 调用。
+     * 初始化之后调用会在运行时调整并发上限，正在执行的任务不受影响。
+     *
+     * @param threadCount 最大并发数
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be > 0");
+        }
+        synchronized (availableLock) {
+            if (permits != null) {
+                int delta = threadCount - this.threadCount;
+                if (delta > 0) {
+                    permits.release(delta);
+                } else if (delta < 0) {
+                    permits.reducePermits(-delta);
+                }
+                availableLock.notifyAll();
+            }
+            this.threadCount = threadCount;
+        }
+    }
+
+    /**
+     * 获取调度器使用的虚拟线程池。
+     *
+     * @param schedulerName 调度器名称
+     * @return 调度器未使用 VirtualThreadPool 或已关闭时返回 null
+     */
+    public static VirtualThreadPool getInstance(String schedulerName) {
+        return INSTANCES.get(schedulerName);
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * 当前正在执行的任务数。
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadNamePrefix == null) {
+            threadNamePrefix = schedulerInstanceName + "_Worker-";
+        }
+        threadFactory = createThreadFactory();
+        permits = new ResizableSemaphore(threadCount);
+        if (schedulerInstanceName != null) {
+            INSTANCES.put(schedulerInstanceName, this);
+        }
+        logger.info("Initialized virtual thread pool with max concurrency " + threadCount + ".");
+    }
+
+    /**
+     * 通过反射调用 Thread.ofVirtual().name(prefix, 1).factory() 创建虚拟线程工厂。
+     *
+     * @return 虚拟线程工厂
+     * @throws SchedulerConfigException 当前 JDK 不支持虚拟线程
+     */
+    protected ThreadFactory createThreadFactory() throws SchedulerConfigException {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, threadNamePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new SchedulerConfigException("Virtual threads require JDK 21 or later", e);
+        }
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null || shutdown) {
+            return false;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        activeCount.incrementAndGet();
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release();
+                }
+            }).start();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        return true;
+    }
+
+    private void release() {
+        activeCount.decrementAndGet();
+        permits.release();
+        synchronized (availableLock) {
+            availableLock.notifyAll();
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        synchronized (availableLock) {
+            while (permits.availablePermits() <= 0 && !shutdown) {
+                try {
+                    availableLock.wait(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return Math.max(permits.availablePermits(), 0);
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        shutdown = true;
+        if (schedulerInstanceName != null) {
+            INSTANCES.remove(schedulerInstanceName, this);
+        }
+        synchronized (availableLock) {
+            availableLock.notifyAll();
+            if (waitForJobsToComplete) {
+                while (activeCount.get() > 0) {
+                    try {
+                        availableLock.wait(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.schedulerInstanceName = schedName;
+    }
+
+    /**
+     * 可以减少许可的信号量，用于运行时缩小并发上限。
+     */
+    private static class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
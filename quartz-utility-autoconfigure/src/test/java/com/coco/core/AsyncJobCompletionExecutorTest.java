@@ -0,0 +1,62 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncJobCompletionExecutorTest {
+
+    @Test
+    void timeoutCompletionRunsOnCompletionThread() throws Exception {
+        AsyncJobCompletionExecutor executor = new AsyncJobCompletionExecutor(1, 10,
+                Duration.ofSeconds(1));
+        executor.start();
+
+        String threadName = new CompletableFuture<String>()
+                .orTimeout(10, TimeUnit.MILLISECONDS)
+                .handleAsync((result, e) -> Thread.currentThread().getName(), executor)
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(threadName.startsWith("quartz-async-job-completion-"), threadName);
+        executor.stop();
+    }
+
+    @Test
+    void fullQueueRunsOnCallerThread() throws Exception {
+        AsyncJobCompletionExecutor executor = new AsyncJobCompletionExecutor(1, 1,
+                Duration.ofSeconds(1));
+        executor.start();
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+
+        String[] threadName = new String[1];
+        executor.execute(() -> threadName[0] = Thread.currentThread().getName());
+        assertEquals(Thread.currentThread().getName(), threadName[0]);
+        blocked.countDown();
+        executor.stop();
+    }
+
+    @Test
+    void stoppedExecutorRunsOnCallerThread() {
+        AsyncJobCompletionExecutor executor = new AsyncJobCompletionExecutor(1, 10,
+                Duration.ofSeconds(1));
+        executor.start();
+        executor.stop();
+
+        String[] threadName = new String[1];
+        executor.execute(() -> threadName[0] = Thread.currentThread().getName());
+        assertEquals(Thread.currentThread().getName(), threadName[0]);
+    }
+}
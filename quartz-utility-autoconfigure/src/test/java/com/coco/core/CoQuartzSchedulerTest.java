@@ -0,0 +1,111 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coco.enums.TimeEnum;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+
+class CoQuartzSchedulerTest {
+
+    private Scheduler scheduler;
+    private CoQuartzScheduler coQuartzScheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME,
+                "test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        // 不启动调度器，只验证存储中的定义
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        coQuartzScheduler = new CoQuartzScheduler(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void scheduleAllIsIdempotent() throws Exception {
+        JobSpec jobSpec = jobSpec("job", "trigger");
+
+        ScheduleReport first = coQuartzScheduler.scheduleAll(List.of(jobSpec));
+        ScheduleReport second = coQuartzScheduler.scheduleAll(List.of(jobSpec));
+
+        assertEquals(1, first.getAdded().size());
+        assertEquals(1, second.getUnchanged().size());
+    }
+
+    @Test
+    void scheduleAllMovesTriggerOwnedByAnotherJob() throws Exception {
+        coQuartzScheduler.scheduleAll(List.of(jobSpec("old-job", "trigger")));
+
+        // 任务改名但保留触发器标识，同名触发器的指纹未变化
+        ScheduleReport report = coQuartzScheduler.scheduleAll(
+                List.of(jobSpec("new-job", "trigger")));
+
+        JobKey jobKey = SchedulerCore.getJobKey("new-job", "test");
+        Trigger trigger = scheduler.getTrigger(SchedulerCore.getTriggerKey("trigger", "test"));
+        assertEquals(List.of(jobKey), report.getAdded());
+        assertEquals(jobKey, trigger.getJobKey());
+        assertEquals(1, scheduler.getTriggersOfJob(jobKey).size());
+    }
+
+    @Test
+    void scheduleSimpleIntervalJobMovesTriggerOwnedByAnotherJob() throws Exception {
+        QuartzComponent quartzComponent = component();
+        TriggerKey triggerKey = SchedulerCore.getTriggerKey("trigger", "test");
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopJob.class,
+                SchedulerCore.getJobKey("old-job", "test"), triggerKey, null, null,
+                quartzComponent);
+        JobKey jobKey = SchedulerCore.getJobKey("new-job", "test");
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopJob.class, jobKey, triggerKey, null, null,
+                quartzComponent);
+        // 已存在的任务也要把触发器转移过来
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopJob.class,
+                SchedulerCore.getJobKey("old-job", "test"), triggerKey, null, null,
+                quartzComponent);
+
+        assertEquals(SchedulerCore.getJobKey("old-job", "test"),
+                scheduler.getTrigger(triggerKey).getJobKey());
+        assertTrue(scheduler.getTriggersOfJob(jobKey).isEmpty());
+    }
+
+    private static JobSpec jobSpec(String jobName, String triggerName) {
+        return new JobSpec.Builder()
+                .setJobClass(NoopJob.class)
+                .setJobKey(SchedulerCore.getJobKey(jobName, "test"))
+                .setTriggerKey(SchedulerCore.getTriggerKey(triggerName, "test"))
+                .setQuartzComponent(component())
+                .build();
+    }
+
+    private static QuartzComponent component() {
+        return new QuartzComponent.Builder()
+                .setTimeEnum(TimeEnum.MINUTES)
+                .setTimeInterval(5)
+                .build();
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
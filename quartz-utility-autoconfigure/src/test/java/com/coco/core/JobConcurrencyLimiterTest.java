@@ -0,0 +1,108 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.coco.enums.ConcurrencyScopeEnum;
+import com.coco.enums.OverlapPolicyEnum;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+
+class JobConcurrencyLimiterTest {
+
+    private final JobConcurrencyLimiter limiter = new JobConcurrencyLimiter(
+            Duration.ofMillis(200), Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+    @Test
+    void conflictingGroupLimitsUseTheSmallest() {
+        JobDetail wide = jobDetail("wide", "group", 3, ConcurrencyScopeEnum.GROUP);
+        JobDetail narrow = jobDetail("narrow", "group", 1, ConcurrencyScopeEnum.GROUP);
+
+        JobConcurrencyLimiter.Permit permit = limiter.tryAcquire(wide);
+        assertNotNull(permit);
+        // 另一个任务登记了更小的上限，组内已有一个许可在使用
+        assertNull(limiter.tryAcquire(narrow));
+        assertNull(limiter.tryAcquire(wide));
+
+        permit.release();
+        assertNotNull(limiter.tryAcquire(wide));
+    }
+
+    @Test
+    void jobScopeCountsEachJobSeparately() {
+        JobDetail first = jobDetail("first", "group", 1, ConcurrencyScopeEnum.JOB);
+        JobDetail second = jobDetail("second", "group", 1, ConcurrencyScopeEnum.JOB);
+
+        assertNotNull(limiter.tryAcquire(first));
+        assertNotNull(limiter.tryAcquire(second));
+        assertNull(limiter.tryAcquire(first));
+    }
+
+    @Test
+    void resizeInPlaceKeepsPermitsInUse() {
+        JobConcurrencyLimiter.Permit first = limiter.tryAcquire("resize", 3);
+        JobConcurrencyLimiter.Permit second = limiter.tryAcquire("resize", 3);
+        assertNotNull(first);
+        assertNotNull(second);
+
+        // 上限降为 1，正在执行的两个许可仍然计入
+        assertNull(limiter.tryAcquire("resize", 1));
+        first.release();
+        assertNull(limiter.tryAcquire("resize", 1));
+        second.release();
+        JobConcurrencyLimiter.Permit third = limiter.tryAcquire("resize", 1);
+        assertNotNull(third);
+        assertNull(limiter.tryAcquire("resize", 1));
+
+        // 上限恢复为 3
+        assertNotNull(limiter.tryAcquire("resize", 3));
+        assertNotNull(limiter.tryAcquire("resize", 3));
+        assertNull(limiter.tryAcquire("resize", 3));
+    }
+
+    @Test
+    void runPolicyIsUnlimited() {
+        JobDetail jobDetail = SchedulerCore.getJobDetail(NoopJob.class,
+                SchedulerCore.getJobKey("run", "group"), null, new QuartzComponent.Builder()
+                        .setMaxConcurrency(1)
+                        .setOverlapPolicy(OverlapPolicyEnum.RUN)
+                        .build());
+
+        assertSame(JobConcurrencyLimiter.UNLIMITED, limiter.tryAcquire(jobDetail));
+        assertSame(JobConcurrencyLimiter.UNLIMITED, limiter.tryAcquire(jobDetail));
+    }
+
+    @Test
+    void queueDelayDoublesUpToTheMaximum() {
+        assertEquals(200, limiter.getQueueDelayMillis(-1));
+        assertEquals(200, limiter.getQueueDelayMillis(0));
+        assertEquals(400, limiter.getQueueDelayMillis(1));
+        assertEquals(3200, limiter.getQueueDelayMillis(4));
+        assertEquals(5000, limiter.getQueueDelayMillis(5));
+        // 移位次数有上限，不会溢出
+        assertEquals(5000, limiter.getQueueDelayMillis(100));
+        assertEquals(5000, limiter.getQueueDelayMillis(Integer.MAX_VALUE));
+    }
+
+    private static JobDetail jobDetail(String name, String group, int maxConcurrency,
+            ConcurrencyScopeEnum scope) {
+        return SchedulerCore.getJobDetail(NoopJob.class, SchedulerCore.getJobKey(name, group),
+                null, new QuartzComponent.Builder()
+                        .setMaxConcurrency(maxConcurrency)
+                        .setConcurrencyScope(scope)
+                        .setOverlapPolicy(OverlapPolicyEnum.SKIP)
+                        .build());
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.coco.enums.MisfirePolicyEnum;
+import com.coco.enums.TimeEnum;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+
+class JobFingerprintTest {
+
+    @Test
+    void jobFingerprintIgnoresDataMapOrderAndStoredFingerprint() {
+        QuartzComponent quartzComponent = component(TimeEnum.MINUTES, 5).build();
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("a", 1);
+        ordered.put("b", "two");
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("b", "two");
+        reversed.put("a", 1);
+        JobDataMap stored = new JobDataMap(reversed);
+        stored.put(QuartzSign.JOB_FINGERPRINT, "previous");
+
+        String fingerprint = JobFingerprint.ofJob(NoopJob.class, new JobDataMap(ordered),
+                quartzComponent);
+        assertEquals(fingerprint, JobFingerprint.ofJob(NoopJob.class, stored, quartzComponent));
+        assertEquals(64, fingerprint.length());
+    }
+
+    @Test
+    void jobFingerprintChangesWithDefinition() {
+        QuartzComponent quartzComponent = component(TimeEnum.MINUTES, 5).build();
+        String fingerprint = JobFingerprint.ofJob(NoopJob.class, null, quartzComponent);
+
+        assertNotEquals(fingerprint, JobFingerprint.ofJob(OtherJob.class, null, quartzComponent));
+        assertNotEquals(fingerprint, JobFingerprint.ofJob(NoopJob.class,
+                new JobDataMap(Map.of("a", 1)), quartzComponent));
+        assertNotEquals(fingerprint, JobFingerprint.ofJob(NoopJob.class, null,
+                component(TimeEnum.MINUTES, 5).setDescription("changed").build()));
+        assertNotEquals(fingerprint, JobFingerprint.ofJob(NoopJob.class, null,
+                component(TimeEnum.MINUTES, 5).setShardTotal(4).build()));
+        // 触发规则不属于任务指纹
+        assertEquals(fingerprint, JobFingerprint.ofJob(NoopJob.class, null,
+                component(TimeEnum.HOURS, 1).build()));
+    }
+
+    @Test
+    void triggerFingerprintCoversScheduleOnly() {
+        String fingerprint = JobFingerprint.ofTrigger(component(TimeEnum.MINUTES, 5).build());
+
+        assertEquals(fingerprint, JobFingerprint.ofTrigger(
+                component(TimeEnum.MINUTES, 5).setDescription("changed").build()));
+        assertEquals(fingerprint, JobFingerprint.ofTrigger(
+                component(TimeEnum.MINUTES, 5).setMisfirePolicy(MisfirePolicyEnum.SKIP).build()));
+        assertNotEquals(fingerprint, JobFingerprint.ofTrigger(component(TimeEnum.MINUTES, 6).build()));
+        assertNotEquals(fingerprint, JobFingerprint.ofTrigger(component(TimeEnum.SECONDS, 5).build()));
+        assertNotEquals(fingerprint, JobFingerprint.ofTrigger(
+                component(TimeEnum.MINUTES, 5).setMisfirePolicy(MisfirePolicyEnum.FIRE_NOW).build()));
+    }
+
+    private static QuartzComponent.Builder component(TimeEnum timeEnum, int timeInterval) {
+        return new QuartzComponent.Builder()
+                .setTimeEnum(timeEnum)
+                .setTimeInterval(timeInterval);
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+
+    public static class OtherJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
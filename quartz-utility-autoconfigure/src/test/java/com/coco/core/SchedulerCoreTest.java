@@ -0,0 +1,34 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coco.enums.TimeEnum;
+import org.junit.jupiter.api.Test;
+
+class SchedulerCoreTest {
+
+    @Test
+    void intervalMillisKeepsMilliseconds() {
+        assertEquals(250L, SchedulerCore.getIntervalMillis(component(TimeEnum.MILLISECONDS, 250)));
+        assertEquals(3_000L, SchedulerCore.getIntervalMillis(component(TimeEnum.SECONDS, 3)));
+        assertEquals(120_000L, SchedulerCore.getIntervalMillis(component(TimeEnum.MINUTES, 2)));
+    }
+
+    @Test
+    void intervalMillisDoesNotOverflowForLargeIntervals() {
+        // 按 int 计算时 1000 小时已经溢出
+        assertEquals(3_600_000_000L, SchedulerCore.getIntervalMillis(component(TimeEnum.HOURS,
+                1000)));
+        assertEquals(Integer.MAX_VALUE * 3_600_000L, SchedulerCore.getIntervalMillis(
+                component(TimeEnum.HOURS, Integer.MAX_VALUE)));
+        assertEquals(Integer.MAX_VALUE * 1000L, SchedulerCore.getIntervalMillis(
+                component(TimeEnum.SECONDS, Integer.MAX_VALUE)));
+    }
+
+    private static QuartzComponent component(TimeEnum timeEnum, int timeInterval) {
+        return new QuartzComponent.Builder()
+                .setTimeEnum(timeEnum)
+                .setTimeInterval(timeInterval)
+                .build();
+    }
+}
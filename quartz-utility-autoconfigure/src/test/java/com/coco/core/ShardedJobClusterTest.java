@@ -0,0 +1,232 @@
+package com.coco.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coco.enums.LogTaskExecStateEnum;
+import com.coco.enums.TimeEnum;
+import com.coco.log.JdbcTaskLogStoreFactory;
+import com.coco.log.JdbcTaskShardStore;
+import com.coco.log.TaskLogStore;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.TriggerKey;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 分片任务的集群测试：同一进程中启动两个共享 H2 数据源的集群节点。
+ */
+class ShardedJobClusterTest {
+
+    private static final int SHARD_TOTAL = 8;
+
+    private static final String COUNT_LOG_SQL = "SELECT COUNT(*) FROM quartz_task_log WHERE job_key = ?";
+    private static final String SELECT_LOG_STATE_SQL = "SELECT exec_state FROM quartz_task_log WHERE job_key = ?";
+    private static final String COUNT_SHARD_SQL = "SELECT COUNT(*) FROM quartz_task_shard";
+
+    private HikariDataSource dataSource;
+    private ClusterNode node1;
+    private ClusterNode node2;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ClusterShardJob.EXECUTIONS.clear();
+        ClusterShardJob.NODES.clear();
+        dataSource = new HikariDataSource();
+        // JDBCJobStore 依赖行锁，默认 1 秒的锁超时会让调度线程获取触发器失败后退避等待
+        dataSource.setJdbcUrl("jdbc:h2:mem:cluster-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setMaximumPoolSize(20);
+        new ResourceDatabasePopulator(new ClassPathResource("quartz_task_log_h2.sql"),
+                new ClassPathResource("quartz_tables_h2.sql")).execute(dataSource);
+        node1 = new ClusterNode(dataSource, 2);
+        node2 = new ClusterNode(dataSource, 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        node1.close();
+        node2.close();
+        dataSource.close();
+    }
+
+    @Test
+    void shardsSpreadAcrossNodesAndWriteOneSummaryLog() throws Exception {
+        JobKey jobKey = SchedulerCore.getJobKey("cluster-shard", "cluster");
+        TriggerKey triggerKey = SchedulerCore.getTriggerKey("cluster-shard", "cluster");
+        QuartzComponent quartzComponent = new QuartzComponent.Builder()
+                .setTimeEnum(TimeEnum.HOURS)
+                .setTimeInterval(1)
+                .setShardTotal(SHARD_TOTAL)
+                .build();
+        node1.getCoQuartzScheduler().scheduleSimpleIntervalJob(ClusterShardJob.class, jobKey,
+                triggerKey, null, null, quartzComponent);
+
+        assertTrue(node1.getScheduler().getJobDetail(jobKey).requestsRecovery(),
+                "sharded jobs request recovery");
+        awaitLogRows(jobKey, Duration.ofSeconds(60));
+        // 留出时间暴露重复的汇总日志
+        Thread.sleep(1000);
+
+        assertEquals(SHARD_TOTAL, ClusterShardJob.EXECUTIONS.size());
+        ClusterShardJob.EXECUTIONS.forEach((shardIndex, count) ->
+                assertEquals(1, count.get(), "shard " + shardIndex + " executions"));
+        assertEquals(2, new HashSet<>(ClusterShardJob.NODES.values()).size(),
+                "shards executed on " + ClusterShardJob.NODES);
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_LOG_SQL, Integer.class,
+                jobKey.toString()));
+        assertEquals(LogTaskExecStateEnum.EXEC_SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                SELECT_LOG_STATE_SQL, Byte.class, jobKey.toString()));
+        assertEquals(0, jdbcTemplate.queryForObject(COUNT_SHARD_SQL, Integer.class));
+    }
+
+    @Test
+    void staleRunIsExpiredByExactlyOneNode() throws Exception {
+        JdbcTaskShardStore taskShardStore = new JdbcTaskShardStore(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource));
+        String jobKey = "cluster.stale-shard";
+        taskShardStore.create(UUID.randomUUID().toString(), jobKey, "cluster.stale-shard",
+                SHARD_TOTAL, new Timestamp(System.currentTimeMillis() - 60_000));
+        ShardRunSweeper sweeper1 = createSweeper(node1);
+        ShardRunSweeper sweeper2 = createSweeper(node2);
+
+        assertEquals(1, sweeper1.sweep() + sweeper2.sweep());
+        assertEquals(0, sweeper1.sweep() + sweeper2.sweep());
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_LOG_SQL, Integer.class, jobKey));
+        assertEquals(LogTaskExecStateEnum.EXEC_FAIL.getCode(), jdbcTemplate.queryForObject(
+                SELECT_LOG_STATE_SQL, Byte.class, jobKey));
+        assertEquals(0, jdbcTemplate.queryForObject(COUNT_SHARD_SQL, Integer.class));
+    }
+
+    private ShardRunSweeper createSweeper(ClusterNode node) {
+        JdbcTemplate nodeJdbcTemplate = node.getQuartzJdbcTemplate();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                dataSource);
+        return new ShardRunSweeper(new JdbcTaskShardStore(nodeJdbcTemplate, transactionManager),
+                JdbcTaskLogStoreFactory.create(nodeJdbcTemplate), null, node.getScheduler(),
+                transactionManager, Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    private void awaitLogRows(JobKey jobKey, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (jdbcTemplate.queryForObject(COUNT_LOG_SQL, Integer.class, jobKey.toString()) == 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("No summary log within " + timeout + ", executed shards "
+                        + ClusterShardJob.EXECUTIONS.keySet());
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * 一个集群节点：独立的 Spring 上下文和使用 JDBCJobStore 的调度器，共享同一个数据源。
+     * 上下文中只注册分片任务需要的 Bean，任务实例由 SpringBeanJobFactory 注入。
+     */
+    private static final class ClusterNode implements AutoCloseable {
+
+        private final AnnotationConfigApplicationContext applicationContext =
+                new AnnotationConfigApplicationContext();
+
+        private ClusterNode(DataSource dataSource, int threadCount) {
+            JdbcTemplate quartzJdbcTemplate = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                    dataSource);
+            applicationContext.registerBean("quartzJdbcTemplate", JdbcTemplate.class,
+                    () -> quartzJdbcTemplate);
+            applicationContext.registerBean(PlatformTransactionManager.class,
+                    () -> transactionManager);
+            applicationContext.registerBean(TaskLogStore.class,
+                    () -> JdbcTaskLogStoreFactory.create(quartzJdbcTemplate));
+            applicationContext.registerBean(JdbcTaskShardStore.class,
+                    () -> new JdbcTaskShardStore(quartzJdbcTemplate, transactionManager));
+            applicationContext.registerBean(JobConcurrencyLimiter.class,
+                    JobConcurrencyLimiter::new);
+
+            SpringBeanJobFactory jobFactory = new SpringBeanJobFactory();
+            jobFactory.setApplicationContext(applicationContext);
+            Properties quartzProperties = new Properties();
+            quartzProperties.setProperty("org.quartz.threadPool.threadCount",
+                    String.valueOf(threadCount));
+            quartzProperties.setProperty("org.quartz.scheduler.instanceId", "AUTO");
+            // 缩短空闲等待，调度线程错过触发器变更的通知时不会长时间卡住
+            quartzProperties.setProperty("org.quartz.scheduler.idleWaitTime", "1000");
+            quartzProperties.setProperty("org.quartz.jobStore.driverDelegateClass",
+                    "org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+            quartzProperties.setProperty("org.quartz.jobStore.isClustered", "true");
+            applicationContext.registerBean("scheduler", SchedulerFactoryBean.class, () -> {
+                SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+                schedulerFactoryBean.setSchedulerName("cluster-test");
+                schedulerFactoryBean.setJobFactory(jobFactory);
+                schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
+                schedulerFactoryBean.setDataSource(dataSource);
+                schedulerFactoryBean.setTransactionManager(transactionManager);
+                schedulerFactoryBean.setQuartzProperties(quartzProperties);
+                return schedulerFactoryBean;
+            });
+            applicationContext.registerBean(CoQuartzScheduler.class, () -> {
+                CoQuartzScheduler coQuartzScheduler = new CoQuartzScheduler(
+                        applicationContext.getBean(Scheduler.class));
+                coQuartzScheduler.setTransactionManager(transactionManager);
+                return coQuartzScheduler;
+            });
+            applicationContext.refresh();
+        }
+
+        private Scheduler getScheduler() {
+            return applicationContext.getBean(Scheduler.class);
+        }
+
+        private CoQuartzScheduler getCoQuartzScheduler() {
+            return applicationContext.getBean(CoQuartzScheduler.class);
+        }
+
+        private JdbcTemplate getQuartzJdbcTemplate() {
+            return applicationContext.getBean("quartzJdbcTemplate", JdbcTemplate.class);
+        }
+
+        @Override
+        public void close() {
+            applicationContext.close();
+        }
+    }
+
+    /**
+     * 记录每个分片的执行次数和执行节点。每个分片耗时 1 秒，发起节点的工作线程不足以在另一个节点获取触发器之前执行完所有分片。
+     */
+    public static class ClusterShardJob extends ShardedQuartzJob {
+
+        static final Map<Integer, AtomicInteger> EXECUTIONS = new ConcurrentHashMap<>();
+        static final Map<Integer, String> NODES = new ConcurrentHashMap<>();
+
+        @Override
+        protected void executeShard(JobExecutionContext context, int shardIndex, int shardTotal)
+                throws Exception {
+            EXECUTIONS.computeIfAbsent(shardIndex, key -> new AtomicInteger()).incrementAndGet();
+            NODES.put(shardIndex, context.getScheduler().getSchedulerInstanceId());
+            Thread.sleep(1000);
+        }
+    }
+}
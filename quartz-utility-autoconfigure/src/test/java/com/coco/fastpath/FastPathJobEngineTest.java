@@ -0,0 +1,121 @@
+package com.coco.fastpath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coco.core.QuartzComponent;
+import com.coco.core.SchedulerCore;
+import com.coco.enums.TimeEnum;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+class FastPathJobEngineTest {
+
+    private Scheduler scheduler;
+    private FastPathJobEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME,
+                "test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        engine = new FastPathJobEngine(scheduler, new DefaultListableBeanFactory(),
+                Duration.ofSeconds(1), Duration.ofMillis(5), 64, 2, 10, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.stop();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void notifiesSchedulerListenersAndReportsSkipsAsMisfires() throws Exception {
+        CountDownLatch executed = new CountDownLatch(1);
+        CountDownLatch misfired = new CountDownLatch(1);
+        CountDownLatch otherGroup = new CountDownLatch(1);
+        scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+            @Override
+            public String getName() {
+                return "executed";
+            }
+
+            @Override
+            public void jobWasExecuted(JobExecutionContext context,
+                    JobExecutionException jobException) {
+                executed.countDown();
+            }
+        });
+        scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+            @Override
+            public String getName() {
+                return "other-group";
+            }
+
+            @Override
+            public void jobToBeExecuted(JobExecutionContext context) {
+                otherGroup.countDown();
+            }
+        }, GroupMatcher.jobGroupEquals("other"));
+        scheduler.getListenerManager().addTriggerListener(new TriggerListenerSupport() {
+            @Override
+            public String getName() {
+                return "misfired";
+            }
+
+            @Override
+            public void triggerMisfired(Trigger trigger) {
+                misfired.countDown();
+            }
+        });
+        QuartzComponent quartzComponent = new QuartzComponent.Builder()
+                .setTimeEnum(TimeEnum.MILLISECONDS)
+                .setTimeInterval(10)
+                .build();
+        JobKey jobKey = SchedulerCore.getJobKey("slow", "test");
+        engine.schedule(SchedulerCore.getJobDetail(SlowJob.class, jobKey, null, quartzComponent),
+                SchedulerCore.getSimpleTrigger(TriggerKey.triggerKey("slow", "test"),
+                        quartzComponent));
+        engine.start();
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS), "job listener notified");
+        assertTrue(misfired.await(5, TimeUnit.SECONDS), "skipped fire reported as misfire");
+        assertTrue(engine.getSkippedCount() > 0);
+        assertEquals(1, otherGroup.getCount(), "listener of another group not notified");
+    }
+
+    @DisallowConcurrentExecution
+    public static class SlowJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.coco.fastpath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @AfterEach
+    void tearDown() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void timeoutBeyondOneRoundWaitsForItsRound() throws Exception {
+        // 4 个槽，每轮 40ms，100ms 的任务需要等待两轮
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 4);
+        timer.start();
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsed = new long[1];
+        timer.newTimeout(() -> {
+            elapsed[0] = System.nanoTime() - start;
+            fired.countDown();
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(100),
+                "fired after " + elapsed[0] + "ns");
+    }
+
+    @Test
+    void timeoutsFireInDeadlineOrderAcrossWraparound() throws Exception {
+        // 2 个槽，延迟跨越多轮，同一个槽中的任务轮数不同
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(5), 2);
+        timer.start();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(4);
+        for (int delay : new int[] {95, 15, 55, 35}) {
+            timer.newTimeout(() -> {
+                order.add(delay);
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(15, 35, 55, 95), order);
+    }
+
+    @Test
+    void expiredTimeoutFiresOnNextTick() throws Exception {
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 8);
+        timer.start();
+        CountDownLatch fired = new CountDownLatch(1);
+        timer.newTimeout(fired::countDown, -1, TimeUnit.SECONDS);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutsDoNotFire() throws Exception {
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(5), 4);
+        AtomicBoolean pendingFired = new AtomicBoolean();
+        AtomicBoolean bucketFired = new AtomicBoolean();
+        // 尚未转移到槽中时取消
+        HashedWheelTimer.Timeout pending = timer.newTimeout(() -> pendingFired.set(true), 20,
+                TimeUnit.MILLISECONDS);
+        pending.cancel();
+        timer.start();
+        // 已经转移到槽中后取消
+        HashedWheelTimer.Timeout inBucket = timer.newTimeout(() -> bucketFired.set(true), 60,
+                TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+        inBucket.cancel();
+        CountDownLatch later = new CountDownLatch(1);
+        timer.newTimeout(later::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertTrue(pending.isCancelled());
+        assertFalse(pendingFired.get());
+        assertFalse(bucketFired.get());
+    }
+
+    @Test
+    void wheelSizeIsRoundedUpToPowerOfTwo() throws Exception {
+        // 3 个槽向上取整为 4，掩码计算槽位时不会越界
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(1), 3);
+        timer.start();
+        CountDownLatch fired = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            timer.newTimeout(fired::countDown, i * 3L, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
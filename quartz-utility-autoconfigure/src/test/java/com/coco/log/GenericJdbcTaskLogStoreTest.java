@@ -0,0 +1,81 @@
+package com.coco.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+class GenericJdbcTaskLogStoreTest {
+
+    @Test
+    void saveAllInsertsRowsWithoutUpdate() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate(new int[] {1, 0});
+        new GenericJdbcTaskLogStore(jdbcTemplate).saveAll(List.of(record("a"), record("b")));
+
+        assertEquals(List.of("batch UPDATE", "batch INSERT 1"), jdbcTemplate.calls);
+    }
+
+    @Test
+    void saveAllFallsBackToSaveWithoutUpdateCounts() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate(
+                new int[] {1, Statement.SUCCESS_NO_INFO});
+        new GenericJdbcTaskLogStore(jdbcTemplate).saveAll(List.of(record("a"), record("b")));
+
+        // 逐条保存，单条更新未命中时插入
+        assertEquals(List.of("batch UPDATE", "UPDATE a", "INSERT", "UPDATE b", "INSERT"),
+                jdbcTemplate.calls);
+    }
+
+    private static TaskLogRecord record(String jobKey) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new TaskLogRecord.Builder()
+                .setJobKey(jobKey)
+                .setTriggerKey("trigger")
+                .setExecState((byte) 1)
+                .setExecuteTime(now)
+                .build();
+    }
+
+    /**
+     * 记录执行的语句，批量更新返回指定的更新行数，单条更新总是未命中。
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final int[] batchUpdateCounts;
+        private final List<String> calls = new ArrayList<>();
+
+        RecordingJdbcTemplate(int[] batchUpdateCounts) {
+            this.batchUpdateCounts = batchUpdateCounts;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                ParameterizedPreparedStatementSetter<T> pss) {
+            if (sql.startsWith("UPDATE")) {
+                calls.add("batch UPDATE");
+                return new int[][] {batchUpdateCounts};
+            }
+            calls.add("batch INSERT " + batchArgs.size());
+            return new int[][] {new int[batchArgs.size()]};
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            calls.add("UPDATE " + args[3]);
+            return 0;
+        }
+
+        @Override
+        public int update(String sql, PreparedStatementSetter pss) {
+            calls.add("INSERT");
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.coco.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+
+class TaskFailureRecorderTest {
+
+    private static final JobKey JOB_KEY = new JobKey("job", "group");
+
+    @Test
+    void fingerprintIgnoresMessageAndLineNumbers() {
+        Throwable first = withStack(new IllegalStateException("first"), 10);
+        Throwable second = withStack(new IllegalStateException("second"), 99);
+
+        String fingerprint = TaskFailureRecorder.fingerprint(JOB_KEY, first, 3);
+        assertEquals(fingerprint, TaskFailureRecorder.fingerprint(JOB_KEY, second, 3));
+        assertEquals(32, fingerprint.length());
+        assertTrue(fingerprint.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    void fingerprintDependsOnJobAndExceptionChain() {
+        Throwable failure = withStack(new IllegalStateException("failure"), 10);
+        Throwable wrapped = withStack(new RuntimeException(
+                withStack(new IllegalStateException("failure"), 10)), 10);
+        String fingerprint = TaskFailureRecorder.fingerprint(JOB_KEY, failure, 3);
+
+        assertNotEquals(fingerprint, TaskFailureRecorder.fingerprint(
+                new JobKey("other", "group"), failure, 3));
+        assertNotEquals(fingerprint, TaskFailureRecorder.fingerprint(JOB_KEY,
+                withStack(new IllegalArgumentException("failure"), 10), 3));
+        assertNotEquals(fingerprint, TaskFailureRecorder.fingerprint(JOB_KEY, wrapped, 3));
+    }
+
+    @Test
+    void fingerprintUsesOnlyTopFramesOfRootCause() {
+        Throwable failure = withStack(new IllegalStateException("failure"), 10);
+        Throwable differentBottom = withStack(new IllegalStateException("failure"), 10);
+        StackTraceElement[] stackTrace = differentBottom.getStackTrace();
+        stackTrace[3] = new StackTraceElement("com.example.Other", "call", "Other.java", 1);
+        differentBottom.setStackTrace(stackTrace);
+
+        // 第 4 帧不参与计算
+        assertEquals(TaskFailureRecorder.fingerprint(JOB_KEY, failure, 3),
+                TaskFailureRecorder.fingerprint(JOB_KEY, differentBottom, 3));
+        assertNotEquals(TaskFailureRecorder.fingerprint(JOB_KEY, failure, 4),
+                TaskFailureRecorder.fingerprint(JOB_KEY, differentBottom, 4));
+        // 帧数超过栈深度时使用全部帧
+        assertEquals(TaskFailureRecorder.fingerprint(JOB_KEY, failure, 100),
+                TaskFailureRecorder.fingerprint(JOB_KEY, failure, 4));
+    }
+
+    @Test
+    void fingerprintStopsAtSelfCause() {
+        Throwable selfCause = withStack(new IllegalStateException("loop") {
+            @Override
+            public synchronized Throwable getCause() {
+                return this;
+            }
+        }, 10);
+
+        assertEquals(32, TaskFailureRecorder.fingerprint(JOB_KEY, selfCause, 3).length());
+    }
+
+    /**
+     * 设置固定的 4 帧栈，行号由参数指定。
+     */
+    private static Throwable withStack(Throwable throwable, int lineNumber) {
+        throwable.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("com.example.Dao", "query", "Dao.java", lineNumber),
+                new StackTraceElement("com.example.Service", "load", "Service.java", lineNumber),
+                new StackTraceElement("com.example.Job", "executeQuartzTask", "Job.java",
+                        lineNumber),
+                new StackTraceElement("com.coco.core.BaseAbstractQuartzJob", "doExecute",
+                        "BaseAbstractQuartzJob.java", lineNumber)
+        });
+        return throwable;
+    }
+}
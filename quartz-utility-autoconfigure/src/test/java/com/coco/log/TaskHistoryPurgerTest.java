@@ -0,0 +1,55 @@
+package com.coco.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TaskHistoryPurgerTest {
+
+    @Test
+    void purgeWithoutStartDeletesAllChunks() {
+        ChunkedHistoryStore taskHistoryStore = new ChunkedHistoryStore(25);
+        TaskHistoryPurger purger = new TaskHistoryPurger(taskHistoryStore, Duration.ofDays(7),
+                Duration.ofHours(1), 10, Duration.ZERO);
+
+        assertEquals(25, purger.purge());
+        // 两个整批之后还有一个不足一批的批次
+        assertEquals(3, taskHistoryStore.calls);
+    }
+
+    @Test
+    void purgeStopsAfterCurrentChunkWhenStopped() {
+        ChunkedHistoryStore taskHistoryStore = new ChunkedHistoryStore(100);
+        TaskHistoryPurger purger = new TaskHistoryPurger(taskHistoryStore, Duration.ofDays(7),
+                Duration.ofHours(1), 10, Duration.ZERO);
+        purger.start();
+        purger.stop();
+
+        assertEquals(10, purger.purge());
+        assertEquals(1, taskHistoryStore.calls);
+    }
+
+    /**
+     * 按批次返回剩余行数的历史存储，不访问数据库。
+     */
+    private static final class ChunkedHistoryStore extends JdbcTaskHistoryStore {
+
+        private int remaining;
+        private int calls;
+
+        private ChunkedHistoryStore(int remaining) {
+            super(null);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int purgeChunk(Timestamp before, int chunkSize) {
+            calls++;
+            int deleted = Math.min(remaining, chunkSize);
+            remaining -= deleted;
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.coco.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TaskStatusServiceTest {
+
+    @Test
+    void statusesByGroupExcludeNestedGroups() throws Exception {
+        Scheduler scheduler = createScheduler();
+        try {
+            scheduler.addJob(JobBuilder.newJob(NoopJob.class).withIdentity("x", "a")
+                    .storeDurably().build(), false);
+            scheduler.addJob(JobBuilder.newJob(NoopJob.class).withIdentity("c", "a.b")
+                    .storeDurably().build(), false);
+            TaskStatusService taskStatusService = new TaskStatusService(
+                    new StubJdbcTemplate(List.of(record("a.b.c"), record("a.x"), record("ab.y"))),
+                    100, 1000, 60000);
+            taskStatusService.setScheduler(scheduler);
+            taskStatusService.refresh();
+
+            assertEquals(List.of("a.x"), jobKeys(taskStatusService.getStatusesByGroup("a")));
+            assertEquals(List.of("a.b.c"), jobKeys(taskStatusService.getStatusesByGroup("a.b")));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void cachingStoreUpdatesAfterCommit() {
+        TaskStatusService taskStatusService = new TaskStatusService(
+                new StubJdbcTemplate(List.of()), 100, 1000, 60000);
+        taskStatusService.refresh();
+        CachingTaskLogStore taskLogStore = new CachingTaskLogStore(new NoopTaskLogStore(),
+                taskStatusService);
+        JobKey jobKey = JobKey.jobKey("n", "g");
+        TriggerKey triggerKey = TriggerKey.triggerKey("t", "g");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskLogStore.save(record("g.n"));
+            assertNull(taskStatusService.getStatus(jobKey, triggerKey));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNotNull(taskStatusService.getStatus(jobKey, triggerKey));
+    }
+
+    @Test
+    void cachingStoreUpdatesImmediatelyWithoutTransaction() {
+        TaskStatusService taskStatusService = new TaskStatusService(
+                new StubJdbcTemplate(List.of()), 100, 1000, 60000);
+        taskStatusService.refresh();
+        new CachingTaskLogStore(new NoopTaskLogStore(), taskStatusService).save(record("g.n"));
+
+        assertNotNull(taskStatusService.getStatus(JobKey.jobKey("n", "g"),
+                TriggerKey.triggerKey("t", "g")));
+    }
+
+    private static Scheduler createScheduler() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME,
+                "test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        return new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    private static TaskLogRecord record(String jobKey) {
+        return new TaskLogRecord.Builder()
+                .setJobKey(jobKey)
+                .setTriggerKey("g.t")
+                .setExecState((byte) 1)
+                .setExecuteTime(new Timestamp(System.currentTimeMillis()))
+                .build();
+    }
+
+    private static List<String> jobKeys(List<TaskLogRecord> records) {
+        List<String> jobKeys = new ArrayList<>();
+        records.forEach(record -> jobKeys.add(record.getJobKey()));
+        return jobKeys;
+    }
+
+    /**
+     * 整表加载返回指定的行，其他查询不返回任何行。
+     */
+    private static class StubJdbcTemplate extends JdbcTemplate {
+
+        private final List<TaskLogRecord> records;
+
+        StubJdbcTemplate(List<TaskLogRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            return sql.contains("ORDER BY") && !sql.contains("WHERE")
+                    ? (List<T>) records : List.of();
+        }
+    }
+
+    private static class NoopTaskLogStore implements TaskLogStore {
+
+        @Override
+        public void save(TaskLogRecord record) {
+        }
+
+        @Override
+        public void saveAll(List<TaskLogRecord> records) {
+        }
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
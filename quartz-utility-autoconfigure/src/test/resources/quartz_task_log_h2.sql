@@ -0,0 +1,44 @@
+DROP TABLE IF EXISTS quartz_task_log;
+create table quartz_task_log (
+id INT AUTO_INCREMENT PRIMARY KEY,
+job_key varchar(64) not null,
+trigger_key varchar(64) not null,
+exec_state TINYINT NOT NULL,
+error_message CLOB,
+execute_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE UNIQUE INDEX unique_log_idx ON quartz_task_log (job_key, trigger_key);
+
+DROP TABLE IF EXISTS quartz_task_shard;
+create table quartz_task_shard (
+run_id varchar(64) PRIMARY KEY,
+job_key varchar(64) not null,
+trigger_key varchar(64) not null,
+shard_total INT NOT NULL,
+completed INT NOT NULL,
+failed INT NOT NULL,
+error_message CLOB,
+start_time TIMESTAMP NOT NULL
+);
+
+DROP TABLE IF EXISTS quartz_task_failure;
+create table quartz_task_failure (
+fingerprint varchar(64) PRIMARY KEY,
+job_key varchar(64) not null,
+exception_class varchar(255) not null,
+error_message varchar(512),
+occurrence_count BIGINT NOT NULL,
+first_seen TIMESTAMP NOT NULL,
+last_seen TIMESTAMP NOT NULL,
+sample_stack_trace CLOB
+);
+
+DROP TABLE IF EXISTS quartz_task_cursor;
+create table quartz_task_cursor (
+job_key varchar(64) PRIMARY KEY,
+run_id varchar(64) not null,
+cursor_value varchar(1024),
+chunk_count BIGINT NOT NULL,
+start_time TIMESTAMP NOT NULL,
+update_time TIMESTAMP NOT NULL
+);
@@ -0,0 +1,35 @@
+package com.coco.benchmark;
+
+import java.io.File;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，默认以 JSON 格式输出结果，便于不同版本之间对比。
+ * <pre>
+ * java -jar quartz-utility-benchmarks/target/benchmarks.jar [JMH 参数] [基准测试正则]
+ * </pre>
+ * 未指定 -rff 时结果写入 jmh-result.json。
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat()
+                        .orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE))
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to "
+                + new File(options.getResult().get()).getAbsolutePath());
+    }
+}
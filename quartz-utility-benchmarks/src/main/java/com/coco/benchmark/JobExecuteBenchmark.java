@@ -0,0 +1,105 @@
+package com.coco.benchmark;
+
+import com.coco.benchmark.support.BenchmarkEnvironment;
+import com.coco.benchmark.support.JobStoreType;
+import com.coco.benchmark.support.NoopBenchmarkJob;
+import com.coco.core.QuartzComponent;
+import com.coco.core.SchedulerCore;
+import java.util.Date;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+
+/**
+ * BaseAbstractQuartzJob.execute 基于嵌入式 H2 的端到端基准测试。
+ * fireAndAwait：通过调度器触发任务并等待执行完成，包含 JobStore 获取触发器、工作线程调度、事务和日志写入；
+ * executeDirect：在当前线程直接调用 execute，只包含事务和日志写入。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobExecuteBenchmark {
+
+    @Param({"RAM", "JDBC"})
+    private JobStoreType jobStoreType;
+
+    private BenchmarkEnvironment environment;
+    private Scheduler scheduler;
+    private NoopBenchmarkJob job;
+    private JobExecutionContext directContext;
+
+    private final JobKey jobKey = JobKey.jobKey("execute", "bench_group");
+    private final Semaphore completed = new Semaphore(0);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SchedulerException {
+        environment = BenchmarkEnvironment.create(jobStoreType, true, 4);
+        scheduler = environment.getScheduler();
+        JobDetail jobDetail = SchedulerCore.getJobDetail(NoopBenchmarkJob.class, jobKey, null,
+                new QuartzComponent.Builder().setDurability(true).build());
+        scheduler.addJob(jobDetail, true);
+        scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+            @Override
+            public String getName() {
+                return "benchmark-completion";
+            }
+
+            @Override
+            public void jobWasExecuted(JobExecutionContext context,
+                    JobExecutionException jobException) {
+                completed.release();
+            }
+        });
+
+        job = environment.createJob(NoopBenchmarkJob.class);
+        OperableTrigger trigger = (OperableTrigger) SchedulerCore.getTrigger(
+                TriggerKey.triggerKey("direct", "bench_group"));
+        Date now = new Date();
+        directContext = new JobExecutionContextImpl(scheduler,
+                new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null), job);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void fireAndAwait() throws SchedulerException, InterruptedException {
+        scheduler.triggerJob(jobKey);
+        if (!completed.tryAcquire(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Job did not complete in 60 seconds.");
+        }
+    }
+
+    @Benchmark
+    public void executeDirect() throws JobExecutionException {
+        job.execute(directContext);
+    }
+}
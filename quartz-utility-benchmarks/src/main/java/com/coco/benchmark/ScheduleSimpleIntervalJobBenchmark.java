@@ -0,0 +1,90 @@
+package com.coco.benchmark;
+
+import com.coco.benchmark.support.BenchmarkEnvironment;
+import com.coco.benchmark.support.JobStoreType;
+import com.coco.benchmark.support.NoopBenchmarkJob;
+import com.coco.core.CoQuartzScheduler;
+import com.coco.core.QuartzComponent;
+import com.coco.enums.TimeEnum;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+
+/**
+ * CoQuartzScheduler.scheduleSimpleIntervalJob 的基准测试。
+ * cold：每次调用使用新的 JobKey / TriggerKey，走完整的注册流程；
+ * existing：触发器已存在且配置未变化，测量重复调度时的检查开销。
+ * 调度器不启动，触发器不会真正执行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleSimpleIntervalJobBenchmark {
+
+    @Param({"RAM", "JDBC"})
+    private JobStoreType jobStoreType;
+
+    private BenchmarkEnvironment environment;
+    private CoQuartzScheduler coQuartzScheduler;
+    private long sequence;
+
+    private final QuartzComponent quartzComponent = new QuartzComponent.Builder()
+            .setTimeInterval(1)
+            .setTimeEnum(TimeEnum.MINUTES)
+            .setDescription("bench")
+            .build();
+    private final JobKey existingJobKey = JobKey.jobKey("existing", "bench_group");
+    private final TriggerKey existingTriggerKey = TriggerKey.triggerKey("existing", "bench_group");
+
+    @Setup(Level.Trial)
+    public void setUp() throws SchedulerException {
+        environment = BenchmarkEnvironment.create(jobStoreType, false, 1);
+        coQuartzScheduler = environment.getCoQuartzScheduler();
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopBenchmarkJob.class, existingJobKey,
+                existingTriggerKey, null, null, quartzComponent);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearColdJobs() throws SchedulerException {
+        // 清理 cold 产生的任务，避免 JobStore 持续增长影响后续迭代
+        environment.getScheduler().clear();
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopBenchmarkJob.class, existingJobKey,
+                existingTriggerKey, null, null, quartzComponent);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void cold() throws SchedulerException {
+        long id = sequence++;
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopBenchmarkJob.class,
+                JobKey.jobKey("cold-" + id, "bench_group"),
+                TriggerKey.triggerKey("cold-" + id, "bench_group"), null, null, quartzComponent);
+    }
+
+    @Benchmark
+    public void existing() throws SchedulerException {
+        coQuartzScheduler.scheduleSimpleIntervalJob(NoopBenchmarkJob.class, existingJobKey,
+                existingTriggerKey, null, null, quartzComponent);
+    }
+}
@@ -0,0 +1,82 @@
+package com.coco.benchmark;
+
+import com.coco.benchmark.support.NoopBenchmarkJob;
+import com.coco.core.QuartzComponent;
+import com.coco.core.SchedulerCore;
+import com.coco.enums.TimeEnum;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+
+/**
+ * SchedulerCore 构建方法的基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerCoreBenchmark {
+
+    private final JobKey jobKey = SchedulerCore.getJobKey("bench", "bench_group");
+    private final TriggerKey triggerKey = SchedulerCore.getTriggerKey("bench", "bench_group");
+    private final JobDataMap jobDataMap = new JobDataMap();
+    private final QuartzComponent quartzComponent = new QuartzComponent.Builder()
+            .setTimeInterval(1)
+            .setTimeEnum(TimeEnum.SECONDS)
+            .setDescription("bench")
+            .build();
+
+    {
+        jobDataMap.put("key", "value");
+    }
+
+    @Benchmark
+    public JobDetail getJobDetail() {
+        return SchedulerCore.getJobDetail(NoopBenchmarkJob.class, jobKey, jobDataMap,
+                quartzComponent);
+    }
+
+    @Benchmark
+    public Trigger getSecondsSimpleTrigger() {
+        return SchedulerCore.getSecondsSimpleTrigger(triggerKey, 1);
+    }
+
+    @Benchmark
+    public Trigger getMinuteSimpleTrigger() {
+        return SchedulerCore.getMinuteSimpleTrigger(triggerKey, 1);
+    }
+
+    @Benchmark
+    public Trigger getHoursSimpleTrigger() {
+        return SchedulerCore.getHoursSimpleTrigger(triggerKey, 1);
+    }
+
+    @Benchmark
+    public Trigger getTrigger() {
+        return SchedulerCore.getTrigger(triggerKey);
+    }
+
+    @Benchmark
+    public JobKey getJobKey() {
+        return SchedulerCore.getJobKey("bench");
+    }
+
+    @Benchmark
+    public TriggerKey getTriggerKey() {
+        return SchedulerCore.getTriggerKey("bench");
+    }
+}
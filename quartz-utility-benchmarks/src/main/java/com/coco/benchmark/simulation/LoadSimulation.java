@@ -0,0 +1,139 @@
+package com.coco.benchmark.simulation;
+
+import com.coco.core.CoQuartzScheduler;
+import com.coco.core.JobSpec;
+import com.coco.core.QuartzComponent;
+import com.coco.core.ScheduleReport;
+import com.coco.enums.TimeEnum;
+import com.coco.log.JdbcTaskLogStoreFactory;
+import com.coco.log.TaskLogStore;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 负载模拟入口。
+ * 以自动配置（包括 QuartzAutoConfiguration）启动 Spring 容器，数据库为嵌入式 H2，
+ * 通过 CoQuartzScheduler.scheduleAll 调度一组 CPU 密集和 sleep 的 SyntheticJob，预热后运行固定时长，
+ * 输出触发延迟百分位、错过触发比例、任务日志写入吞吐和数据库连接等待时间。
+ * <pre>
+ * java -cp quartz-utility-benchmarks/target/benchmarks.jar com.coco.benchmark.simulation.LoadSimulation \
+ *     --simulation.jobs=10000 --simulation.interval=1s --simulation.threads=100
+ * </pre>
+ * 默认配置见 load-simulation.properties，所有 spring.quartz.* 和 quartz.utility.* 配置都可以通过命令行覆盖。
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableConfigurationProperties(SimulationProperties.class)
+public class LoadSimulation {
+
+    private static final String JOB_GROUP = "simulation";
+
+    @Bean
+    DataSource dataSource(@Autowired SimulationProperties properties,
+            @Autowired SimulationMetrics simulationMetrics) {
+        HikariDataSource dataSource = new HikariDataSource();
+        // JDBCJobStore 依赖行锁，默认 1 秒的锁超时会让调度线程获取触发器失败后退避等待
+        dataSource.setJdbcUrl("jdbc:h2:mem:simulation;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setMaximumPoolSize(properties.getDbPoolSize());
+        dataSource.setMetricsTrackerFactory(simulationMetrics);
+        return dataSource;
+    }
+
+    @Bean
+    SimulationMetrics simulationMetrics() {
+        return new SimulationMetrics();
+    }
+
+    @Bean
+    TaskLogStore taskLogStore(
+            @Autowired @Qualifier("quartzJdbcTemplate") JdbcTemplate quartzJdbcTemplate,
+            @Autowired SimulationMetrics simulationMetrics) {
+        return simulationMetrics.countingTaskLogStore(
+                JdbcTaskLogStoreFactory.create(quartzJdbcTemplate));
+    }
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(LoadSimulation.class);
+        // 默认配置优先级最低，命令行参数和 application.properties 都可以覆盖
+        application.setDefaultProperties(PropertiesLoaderUtils.loadProperties(
+                new ClassPathResource("load-simulation.properties")));
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            run(context);
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context) throws Exception {
+        SimulationProperties properties = context.getBean(SimulationProperties.class);
+        SimulationMetrics metrics = context.getBean(SimulationMetrics.class);
+        Scheduler scheduler = context.getBean(Scheduler.class);
+        scheduler.getListenerManager().addJobListener(metrics.getJobListener());
+        scheduler.getListenerManager().addTriggerListener(metrics.getTriggerListener());
+
+        long startNanos = System.nanoTime();
+        ScheduleReport report = context.getBean(CoQuartzScheduler.class)
+                .scheduleAll(createJobSpecs(properties), true);
+        System.out.printf("Scheduled %d jobs in %d ms: %s%n", properties.getJobs(),
+                (System.nanoTime() - startNanos) / 1_000_000, report);
+
+        Thread.sleep(properties.getWarmup().toMillis());
+        metrics.reset();
+        long measureStart = System.currentTimeMillis();
+        Thread.sleep(properties.getDuration().toMillis());
+        long elapsedMillis = System.currentTimeMillis() - measureStart;
+
+        System.out.printf("Load simulation:   jobs=%d interval=%s cpu-ratio=%.2f work-time=%s "
+                        + "threads=%d job-store=%s db-pool=%d duration=%s%n",
+                properties.getJobs(), properties.getInterval(), properties.getCpuRatio(),
+                properties.getWorkTime(), scheduler.getMetaData().getThreadPoolSize(),
+                scheduler.getMetaData().getJobStoreClass().getSimpleName(),
+                properties.getDbPoolSize(), properties.getDuration());
+        metrics.report(System.out, elapsedMillis);
+        scheduler.standby();
+    }
+
+    /**
+     * 按 cpuRatio 均匀交错生成 CPU 密集任务和 sleep 任务。
+     */
+    private static List<JobSpec> createJobSpecs(SimulationProperties properties) {
+        QuartzComponent quartzComponent = new QuartzComponent.Builder()
+                .setTimeEnum(TimeEnum.MILLISECONDS)
+                .setTimeInterval((int) properties.getInterval().toMillis())
+                .setStartSpread(properties.getStartSpread())
+                .setTransactionMode(properties.getTransactionMode())
+                .build();
+        List<JobSpec> jobSpecs = new ArrayList<>(properties.getJobs());
+        for (int i = 0; i < properties.getJobs(); i++) {
+            boolean cpuBound = (int) ((i + 1) * properties.getCpuRatio())
+                    > (int) (i * properties.getCpuRatio());
+            JobDataMap jobDataMap = new JobDataMap();
+            jobDataMap.put(SyntheticJob.CPU_BOUND, cpuBound);
+            jobDataMap.put(SyntheticJob.WORK_NANOS, properties.getWorkTime().toNanos());
+            String name = (cpuBound ? "cpu-" : "sleep-") + i;
+            jobSpecs.add(new JobSpec.Builder()
+                    .setJobClass(SyntheticJob.class)
+                    .setJobKey(JobKey.jobKey(name, JOB_GROUP))
+                    .setTriggerKey(TriggerKey.triggerKey(name, JOB_GROUP))
+                    .setJobDataMap(jobDataMap)
+                    .setQuartzComponent(quartzComponent)
+                    .build());
+        }
+        return jobSpecs;
+    }
+}
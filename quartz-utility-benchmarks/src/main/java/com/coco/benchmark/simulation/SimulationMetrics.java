@@ -0,0 +1,173 @@
+package com.coco.benchmark.simulation;
+
+import com.coco.log.TaskLogRecord;
+import com.coco.log.TaskLogStore;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.io.PrintStream;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Trigger;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+
+/**
+ * 负载模拟的统计：触发延迟和数据库连接等待时间的 HDR 直方图、错过触发次数和任务日志写入量。
+ * 触发延迟和错过触发通过 Quartz 监听器采集，日志写入通过包装 TaskLogStore 采集，
+ * 连接等待时间通过 HikariCP 的 MetricsTrackerFactory 采集。
+ */
+public class SimulationMetrics implements MetricsTrackerFactory {
+
+    private static final String LISTENER_NAME = "LoadSimulationListener";
+
+    // 触发延迟（毫秒）
+    private final Recorder fireLag = new Recorder(3);
+    // 获取数据库连接的等待时间（微秒）
+    private final Recorder connectionWait = new Recorder(3);
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder misfires = new LongAdder();
+    private final LongAdder logRecords = new LongAdder();
+    private final LongAdder logWrites = new LongAdder();
+    private final LongAdder logWriteNanos = new LongAdder();
+    private final LongAdder connectionTimeouts = new LongAdder();
+
+    /**
+     * 清空当前统计，预热结束时调用。
+     */
+    public void reset() {
+        fireLag.reset();
+        connectionWait.reset();
+        executions.reset();
+        failures.reset();
+        misfires.reset();
+        logRecords.reset();
+        logWrites.reset();
+        logWriteNanos.reset();
+        connectionTimeouts.reset();
+    }
+
+    /**
+     * 输出从上一次 reset 到现在的统计报告。
+     *
+     * @param out           输出流
+     * @param elapsedMillis 统计时长（毫秒）
+     */
+    public void report(PrintStream out, long elapsedMillis) {
+        double seconds = elapsedMillis / 1000.0;
+        Histogram lag = fireLag.getIntervalHistogram();
+        Histogram wait = connectionWait.getIntervalHistogram();
+        long executed = executions.sum();
+        long misfired = misfires.sum();
+        long records = logRecords.sum();
+        long writes = logWrites.sum();
+        out.printf("Executions:        %d (%.1f/s), failures %d%n", executed,
+                executed / seconds, failures.sum());
+        out.printf("Fire lag (ms):     p50=%d p90=%d p99=%d p99.9=%d max=%d mean=%.1f%n",
+                lag.getValueAtPercentile(50), lag.getValueAtPercentile(90),
+                lag.getValueAtPercentile(99), lag.getValueAtPercentile(99.9),
+                lag.getMaxValue(), lag.getMean());
+        out.printf("Misfires:          %d (%.2f%% of fires)%n", misfired,
+                executed + misfired > 0 ? 100.0 * misfired / (executed + misfired) : 0);
+        out.printf("Task log writes:   %d records (%.1f/s) in %d calls, mean %.2f ms/call%n",
+                records, records / seconds, writes,
+                writes > 0 ? logWriteNanos.sum() / 1_000_000.0 / writes : 0);
+        out.printf("Connection wait:   p50=%dus p99=%dus p99.9=%dus max=%dus, timeouts %d%n",
+                wait.getValueAtPercentile(50), wait.getValueAtPercentile(99),
+                wait.getValueAtPercentile(99.9), wait.getMaxValue(),
+                connectionTimeouts.sum());
+    }
+
+    /**
+     * 包装任务日志存储，统计写入的记录数和耗时。
+     *
+     * @param delegate 实际的任务日志存储
+     * @return 统计写入的任务日志存储
+     */
+    public TaskLogStore countingTaskLogStore(TaskLogStore delegate) {
+        return new TaskLogStore() {
+            @Override
+            public void save(TaskLogRecord record) {
+                long startNanos = System.nanoTime();
+                delegate.save(record);
+                recordLogWrite(1, System.nanoTime() - startNanos);
+            }
+
+            @Override
+            public void saveAll(List<TaskLogRecord> records) {
+                long startNanos = System.nanoTime();
+                delegate.saveAll(records);
+                recordLogWrite(records.size(), System.nanoTime() - startNanos);
+            }
+        };
+    }
+
+    private void recordLogWrite(int records, long durationNanos) {
+        logRecords.add(records);
+        logWrites.increment();
+        logWriteNanos.add(durationNanos);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                connectionWait.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                connectionTimeouts.increment();
+            }
+        };
+    }
+
+    public JobListenerSupport getJobListener() {
+        return new JobListenerSupport() {
+            @Override
+            public String getName() {
+                return LISTENER_NAME;
+            }
+
+            @Override
+            public void jobToBeExecuted(JobExecutionContext context) {
+                Date scheduledFireTime = context.getScheduledFireTime();
+                if (scheduledFireTime != null) {
+                    fireLag.recordValue(Math.max(context.getFireTime().getTime()
+                            - scheduledFireTime.getTime(), 0));
+                }
+            }
+
+            @Override
+            public void jobWasExecuted(JobExecutionContext context,
+                    JobExecutionException jobException) {
+                executions.increment();
+                if (jobException != null) {
+                    failures.increment();
+                }
+            }
+        };
+    }
+
+    public TriggerListenerSupport getTriggerListener() {
+        return new TriggerListenerSupport() {
+            @Override
+            public String getName() {
+                return LISTENER_NAME;
+            }
+
+            @Override
+            public void triggerMisfired(Trigger trigger) {
+                misfires.increment();
+            }
+        };
+    }
+}
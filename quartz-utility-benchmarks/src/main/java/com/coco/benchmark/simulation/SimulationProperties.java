@@ -0,0 +1,101 @@
+package com.coco.benchmark.simulation;
+
+import com.coco.enums.StartSpreadEnum;
+import com.coco.enums.TransactionModeEnum;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "simulation")
+public class SimulationProperties {
+
+    // 调度的任务数
+    private int jobs = 1000;
+    // 每个任务的执行间隔
+    private Duration interval = Duration.ofSeconds(1);
+    // CPU 密集任务的比例，其余为 sleep 任务
+    private double cpuRatio = 0.5;
+    // 每次执行的任务体耗时
+    private Duration workTime = Duration.ofMillis(5);
+    // 预热时间，预热期间的统计不计入报告
+    private Duration warmup = Duration.ofSeconds(10);
+    // 统计时间
+    private Duration duration = Duration.ofSeconds(60);
+    // 新建触发器第一次触发时间的分散策略
+    private StartSpreadEnum startSpread = StartSpreadEnum.HASH;
+    // 事务模式，为 null 时使用任务类的默认值 WRAP_JOB
+    private TransactionModeEnum transactionMode;
+    // 数据库连接池大小
+    private int dbPoolSize = 20;
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(int jobs) {
+        this.jobs = jobs;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public double getCpuRatio() {
+        return cpuRatio;
+    }
+
+    public void setCpuRatio(double cpuRatio) {
+        this.cpuRatio = cpuRatio;
+    }
+
+    public Duration getWorkTime() {
+        return workTime;
+    }
+
+    public void setWorkTime(Duration workTime) {
+        this.workTime = workTime;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public StartSpreadEnum getStartSpread() {
+        return startSpread;
+    }
+
+    public void setStartSpread(StartSpreadEnum startSpread) {
+        this.startSpread = startSpread;
+    }
+
+    public TransactionModeEnum getTransactionMode() {
+        return transactionMode;
+    }
+
+    public void setTransactionMode(TransactionModeEnum transactionMode) {
+        this.transactionMode = transactionMode;
+    }
+
+    public int getDbPoolSize() {
+        return dbPoolSize;
+    }
+
+    public void setDbPoolSize(int dbPoolSize) {
+        this.dbPoolSize = dbPoolSize;
+    }
+}
@@ -0,0 +1,37 @@
+package com.coco.benchmark.simulation;
+
+import com.coco.core.BaseAbstractQuartzJob;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+
+/**
+ * 负载模拟使用的任务体，按 JobDataMap 中的配置忙等 CPU 或 sleep 指定的时间。
+ */
+public class SyntheticJob extends BaseAbstractQuartzJob {
+
+    // 是否为 CPU 密集任务
+    public static final String CPU_BOUND = "simulation.cpuBound";
+    // 任务体耗时（纳秒）
+    public static final String WORK_NANOS = "simulation.workNanos";
+
+    // 保存计算结果，避免忙等循环被 JIT 消除
+    private static volatile long sink;
+
+    @Override
+    protected void executeQuartzTask(JobExecutionContext context) throws InterruptedException {
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        long workNanos = jobDataMap.getLongValue(WORK_NANOS);
+        if (!jobDataMap.getBooleanValue(CPU_BOUND)) {
+            Thread.sleep(workNanos / 1_000_000, (int) (workNanos % 1_000_000));
+            return;
+        }
+        long deadline = System.nanoTime() + workNanos;
+        long value = 0;
+        while (System.nanoTime() - deadline < 0) {
+            for (int i = 0; i < 1000; i++) {
+                value = value * 31 + i;
+            }
+        }
+        sink = value;
+    }
+}
@@ -0,0 +1,189 @@
+package com.coco.benchmark.support;
+
+import com.coco.core.CoQuartzScheduler;
+import com.coco.core.JobConcurrencyLimiter;
+import com.coco.log.JdbcTaskCursorStore;
+import com.coco.log.JdbcTaskLogStoreFactory;
+import com.coco.log.JdbcTaskShardStore;
+import com.coco.log.TaskLogStore;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Properties;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.quartz.Scheduler;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 基准测试使用的运行环境：嵌入式 H2 数据源、日志表、Quartz 调度器和 CoQuartzScheduler。
+ * 与 QuartzAutoConfiguration 注册相同的 Bean，JobStore 可以选择 RAMJobStore 或 JDBCJobStore。
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext applicationContext;
+    private final HikariDataSource dataSource;
+    // 集群节点共享数据源，由调用方关闭
+    private final boolean ownsDataSource;
+
+    private BenchmarkEnvironment(AnnotationConfigApplicationContext applicationContext,
+            HikariDataSource dataSource, boolean ownsDataSource) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.ownsDataSource = ownsDataSource;
+    }
+
+    /**
+     * 创建运行环境。
+     *
+     * @param jobStoreType JobStore 类型
+     * @param autoStartup  是否启动调度器，只测调度 API 时不启动，避免触发器真正执行
+     * @param threadCount  工作线程数
+     * @return 已刷新的运行环境
+     */
+    public static BenchmarkEnvironment create(JobStoreType jobStoreType, boolean autoStartup,
+            int threadCount) {
+        HikariDataSource dataSource = createDataSource("bench-" + UUID.randomUUID(),
+                threadCount + 4);
+        initializeSchema(dataSource, jobStoreType);
+        return create(jobStoreType, autoStartup, threadCount, dataSource, true, false);
+    }
+
+    /**
+     * 创建一个集群节点，用于在单个进程中验证集群行为（例如分片任务）。
+     * 同名调度器的事务数据源在 Quartz 中按调度器名称全局注册，同一进程中的节点必须共享同一个数据源，
+     * 数据源需要先通过 createDataSource、initializeSchema 创建，并由调用方在所有节点关闭后关闭。
+     *
+     * @param dataSource  共享的数据源
+     * @param threadCount 工作线程数
+     * @return 已刷新并启动调度器的运行环境
+     */
+    public static BenchmarkEnvironment createClusterNode(HikariDataSource dataSource,
+            int threadCount) {
+        return create(JobStoreType.JDBC, true, threadCount, dataSource, false, true);
+    }
+
+    /**
+     * 创建嵌入式 H2 数据源。
+     *
+     * @param databaseName    数据库名称
+     * @param maximumPoolSize 连接池大小
+     * @return 数据源
+     */
+    public static HikariDataSource createDataSource(String databaseName, int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        // JDBCJobStore 依赖行锁，默认 1 秒的锁超时会让调度线程获取触发器失败后退避等待
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + databaseName
+                + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    /**
+     * 创建日志表，JDBCJobStore 时同时创建 Quartz 表。
+     *
+     * @param dataSource   数据源
+     * @param jobStoreType JobStore 类型
+     */
+    public static void initializeSchema(DataSource dataSource, JobStoreType jobStoreType) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("quartz_task_log_h2.sql"));
+        if (jobStoreType == JobStoreType.JDBC) {
+            populator.addScript(new ClassPathResource("quartz_tables_h2.sql"));
+        }
+        populator.execute(dataSource);
+    }
+
+    private static BenchmarkEnvironment create(JobStoreType jobStoreType, boolean autoStartup,
+            int threadCount, HikariDataSource dataSource, boolean ownsDataSource,
+            boolean clustered) {
+        AnnotationConfigApplicationContext applicationContext =
+                new AnnotationConfigApplicationContext();
+        JdbcTemplate quartzJdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                dataSource);
+        applicationContext.registerBean(DataSource.class, () -> dataSource);
+        applicationContext.registerBean("quartzJdbcTemplate", JdbcTemplate.class,
+                () -> quartzJdbcTemplate);
+        applicationContext.registerBean(PlatformTransactionManager.class,
+                () -> transactionManager);
+        applicationContext.registerBean(TaskLogStore.class,
+                () -> JdbcTaskLogStoreFactory.create(quartzJdbcTemplate));
+        applicationContext.registerBean(JdbcTaskShardStore.class,
+                () -> new JdbcTaskShardStore(quartzJdbcTemplate, transactionManager));
+        applicationContext.registerBean(JdbcTaskCursorStore.class,
+                () -> new JdbcTaskCursorStore(quartzJdbcTemplate));
+        applicationContext.registerBean(JobConcurrencyLimiter.class, JobConcurrencyLimiter::new);
+
+        SpringBeanJobFactory jobFactory = new SpringBeanJobFactory();
+        jobFactory.setApplicationContext(applicationContext);
+        Properties quartzProperties = new Properties();
+        quartzProperties.setProperty("org.quartz.threadPool.threadCount",
+                String.valueOf(threadCount));
+        quartzProperties.setProperty("org.quartz.scheduler.instanceId", "AUTO");
+        // 调度线程偶尔会错过触发器变更的通知，缩短空闲等待避免端到端测试长时间卡住
+        quartzProperties.setProperty("org.quartz.scheduler.idleWaitTime", "1000");
+        applicationContext.registerBean("scheduler", SchedulerFactoryBean.class, () -> {
+            SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+            schedulerFactoryBean.setSchedulerName("bench-" + jobStoreType);
+            schedulerFactoryBean.setJobFactory(jobFactory);
+            schedulerFactoryBean.setAutoStartup(autoStartup);
+            schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
+            if (jobStoreType == JobStoreType.JDBC) {
+                quartzProperties.setProperty("org.quartz.jobStore.driverDelegateClass",
+                        "org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+                quartzProperties.setProperty("org.quartz.jobStore.isClustered",
+                        String.valueOf(clustered));
+                schedulerFactoryBean.setDataSource(dataSource);
+                schedulerFactoryBean.setTransactionManager(transactionManager);
+            }
+            schedulerFactoryBean.setQuartzProperties(quartzProperties);
+            return schedulerFactoryBean;
+        });
+        applicationContext.registerBean(CoQuartzScheduler.class, () -> {
+            CoQuartzScheduler coQuartzScheduler = new CoQuartzScheduler(
+                    applicationContext.getBean(Scheduler.class));
+            if (jobStoreType == JobStoreType.JDBC) {
+                coQuartzScheduler.setTransactionManager(transactionManager);
+            }
+            return coQuartzScheduler;
+        });
+        applicationContext.refresh();
+        return new BenchmarkEnvironment(applicationContext, dataSource, ownsDataSource);
+    }
+
+    public Scheduler getScheduler() {
+        return applicationContext.getBean(Scheduler.class);
+    }
+
+    public CoQuartzScheduler getCoQuartzScheduler() {
+        return applicationContext.getBean(CoQuartzScheduler.class);
+    }
+
+    public JdbcTemplate getQuartzJdbcTemplate() {
+        return applicationContext.getBean("quartzJdbcTemplate", JdbcTemplate.class);
+    }
+
+    /**
+     * 创建并注入一个任务实例，与 SpringBeanJobFactory 的处理方式相同。
+     *
+     * @param jobClass 任务类
+     * @return 已完成依赖注入的任务实例
+     */
+    public <T> T createJob(Class<T> jobClass) {
+        return applicationContext.getAutowireCapableBeanFactory().createBean(jobClass);
+    }
+
+    @Override
+    public void close() {
+        applicationContext.close();
+        if (ownsDataSource) {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.coco.benchmark.support;
+
+public enum JobStoreType {
+    // org.quartz.simpl.RAMJobStore
+    RAM,
+    // 基于 H2 的 JDBCJobStore
+    JDBC
+}
@@ -0,0 +1,14 @@
+package com.coco.benchmark.support;
+
+import com.coco.core.BaseAbstractQuartzJob;
+import org.quartz.JobExecutionContext;
+
+/**
+ * 空任务体，基准测试只测量 BaseAbstractQuartzJob 自身的开销（事务、日志写入）。
+ */
+public class NoopBenchmarkJob extends BaseAbstractQuartzJob {
+
+    @Override
+    protected void executeQuartzTask(JobExecutionContext context) {
+    }
+}
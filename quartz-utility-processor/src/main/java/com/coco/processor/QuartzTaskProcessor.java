@@ -0,0 +1,207 @@
+package com.coco.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * 编译时生成 @QuartzTask 任务索引的注解处理器。
+ * 索引写入 META-INF/quartz-utility/tasks.index，每个任务类一个以类名为键的条目，
+ * 注解中显式设置的属性保存为“类名#属性名”，未设置的属性在运行时使用 QuartzComponent.Builder 的默认值。
+ * 增量编译时保留上一次索引中仍然标注了 @QuartzTask 的类。
+ *
+ * <p>处理器不依赖 quartz-utility-autoconfigure，注解和 Job 接口都按名称匹配。
+ */
+@SupportedAnnotationTypes(QuartzTaskProcessor.ANNOTATION_NAME)
+public class QuartzTaskProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION_NAME = "com.coco.annotation.QuartzTask";
+
+    static final String INDEX_LOCATION = "META-INF/quartz-utility/tasks.index";
+
+    private static final String JOB_NAME = "org.quartz.Job";
+
+    // 类的二进制名称到显式设置的属性，按类名排序使生成的索引稳定
+    private final Map<String, Map<String, String>> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                collect(element);
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collect(Element element) {
+        AnnotationMirror mirror = getQuartzTask(element);
+        if (mirror == null || !validate(element, mirror)) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            Object value = entry.getValue().getValue();
+            attributes.put(entry.getKey().getSimpleName().toString(),
+                    value instanceof VariableElement variableElement
+                            ? variableElement.getSimpleName().toString()
+                            : String.valueOf(value));
+        }
+        entries.put(processingEnv.getElementUtils().getBinaryName(typeElement).toString(),
+                attributes);
+    }
+
+    private boolean validate(Element element, AnnotationMirror mirror) {
+        if (element.getKind() != ElementKind.CLASS
+                || element.getModifiers().contains(Modifier.ABSTRACT)
+                || !element.getModifiers().contains(Modifier.PUBLIC)) {
+            error(element, mirror, "@QuartzTask must be placed on a public non-abstract class");
+            return false;
+        }
+        if (element.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                && !element.getModifiers().contains(Modifier.STATIC)) {
+            error(element, mirror, "@QuartzTask nested class must be static");
+            return false;
+        }
+        TypeElement jobType = processingEnv.getElementUtils().getTypeElement(JOB_NAME);
+        if (jobType != null && !processingEnv.getTypeUtils().isAssignable(element.asType(),
+                jobType.asType())) {
+            error(element, mirror, "@QuartzTask class must implement " + JOB_NAME);
+            return false;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+            if ((name.equals("timeInterval") || name.equals("shardTotal")
+                    || name.equals("startRateLimit")) && (Integer) value <= 0) {
+                error(element, mirror, "@QuartzTask " + name + " must be > 0");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AnnotationMirror getQuartzTask(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(ANNOTATION_NAME)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 合并上一次编译生成的索引中本次没有处理、但仍然标注了 @QuartzTask 的类。
+     */
+    private void mergePreviousIndex() {
+        Properties previous = new Properties();
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (InputStream inputStream = resource.openInputStream()) {
+                previous.load(inputStream);
+            }
+        } catch (IOException e) {
+            // 没有上一次的索引
+            return;
+        }
+        for (String key : previous.stringPropertyNames()) {
+            if (key.indexOf('#') >= 0 || entries.containsKey(key)) {
+                continue;
+            }
+            TypeElement typeElement = processingEnv.getElementUtils()
+                    .getTypeElement(key.replace('$', '.'));
+            if (typeElement != null) {
+                collect(typeElement);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        mergePreviousIndex();
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (OutputStream outputStream = resource.openOutputStream();
+                    Writer writer = new OutputStreamWriter(outputStream,
+                            StandardCharsets.ISO_8859_1)) {
+                for (Map.Entry<String, Map<String, String>> entry : entries.entrySet()) {
+                    writer.write(escape(entry.getKey()) + "=\n");
+                    for (Map.Entry<String, String> attribute : entry.getValue().entrySet()) {
+                        writer.write(escape(entry.getKey() + "#" + attribute.getKey()) + "="
+                                + escape(attribute.getValue()) + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Write " + INDEX_LOCATION + " error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 按 properties 格式转义，非 ASCII 字符写为 \\uXXXX。
+     */
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\', '=', ':', '#', '!', ' ' -> builder.append('\\').append(c);
+                case '\t' -> builder.append("\\t");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\f' -> builder.append("\\f");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private void error(Element element, AnnotationMirror mirror, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element, mirror);
+    }
+}